@@ -0,0 +1,32 @@
+package de.ambertation.wunderreich;
+
+import net.minecraft.SharedConstants;
+import net.minecraft.server.Bootstrap;
+
+import java.lang.reflect.Field;
+import sun.misc.Unsafe;
+
+//Lightweight stand-ins for Minecraft objects we can not (or do not want to) create in a benchmark
+public class BenchmarkFakes {
+    private static boolean didBootstrap = false;
+
+    //Registers the vanilla registries, needed for anything that touches Items or ItemStacks
+    public static synchronized void bootstrap() {
+        if (didBootstrap) return;
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+        didBootstrap = true;
+    }
+
+    //Creates an instance without running any constructor. Only use the result as an identity
+    //(for example as a map key), all fields are null.
+    public static <T> T allocate(Class<T> type) {
+        try {
+            Field f = Unsafe.class.getDeclaredField("theUnsafe");
+            f.setAccessible(true);
+            return type.cast(((Unsafe) f.get(null)).allocateInstance(type));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to create a fake " + type.getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package de.ambertation.wunderreich.config;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConfigFileBenchmark {
+    private ConfigFile config;
+    private ConfigFile.IntValue topLevel;
+    private ConfigFile.BooleanValue nested;
+    private ConfigFile.BooleanValue combined;
+
+    @Setup
+    public void setup() throws IOException {
+        config = new ConfigFile(Files.createTempDirectory("wunderreich-jmh"), "jmh", "config");
+        topLevel = config.new IntValue("", "distance", 4);
+        nested = config.new BooleanValue("blocks.wunderkiste.features", "enabled", true);
+        combined = config.new BooleanValue("items", "enabled", true).and(nested);
+    }
+
+    @Benchmark
+    public int topLevelInt() {
+        return topLevel.get();
+    }
+
+    //a value three objects deep, like the block and item configs
+    @Benchmark
+    public boolean nestedBoolean() {
+        return nested.get();
+    }
+
+    //a value combined with a condition, like the whisperer options in MainConfig
+    @Benchmark
+    public boolean combinedBoolean() {
+        return combined.get();
+    }
+
+    //every read after a write has to resolve the value again
+    @Benchmark
+    public boolean readAfterSet() {
+        nested.set(!nested.get());
+        return nested.get();
+    }
+}
@@ -0,0 +1,63 @@
+package de.ambertation.wunderreich.config;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.nbt.StringTag;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LevelDataFileBenchmark {
+    //number of domain inventories stored in the file (1 = one shard, 16 = the old shared root file)
+    @Param({"1", "16"})
+    public int domains;
+
+    private LevelDataFile file;
+
+    @Setup
+    public void setup() throws IOException {
+        final LevelData levelData = LevelData.getInstance();
+        levelData.levelPath = Files.createTempDirectory("wunderreich-jmh");
+        Files.createDirectories(levelData.dataPath());
+
+        file = new LevelDataFile(levelData, "_jmh");
+        for (int d = 0; d < domains; d++) {
+            final ListTag items = new ListTag();
+            for (int slot = 0; slot < 27; slot++) {
+                CompoundTag item = new CompoundTag();
+                item.putByte("Slot", (byte) slot);
+                item.putString("id", "minecraft:cobblestone");
+                item.putByte("Count", (byte) 64);
+                CompoundTag display = new CompoundTag();
+                display.put("Name", StringTag.valueOf("{\"text\":\"Item " + slot + "\"}"));
+                item.put("tag", display);
+                items.add(item);
+            }
+            file.getWunderkisteInventory("domain_" + d, null).put("items", items);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        LevelDataPersistence.INSTANCE.flush();
+    }
+
+    //what callers pay on the server thread
+    @Benchmark
+    public void save() {
+        file.save();
+    }
+
+    //what the background thread pays for each write
+    @Benchmark
+    public void write() {
+        file.createPendingWrite().write();
+    }
+}
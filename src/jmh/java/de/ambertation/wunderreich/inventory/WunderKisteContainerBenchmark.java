@@ -0,0 +1,70 @@
+package de.ambertation.wunderreich.inventory;
+
+import de.ambertation.wunderreich.BenchmarkFakes;
+import de.ambertation.wunderreich.utils.WunderKisteDomain;
+
+import net.minecraft.nbt.ListTag;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.inventory.AbstractContainerMenu;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WunderKisteContainerBenchmark {
+    private WunderKisteContainer container;
+    private ListTag items;
+    private int slot;
+
+    @Setup
+    public void setup() {
+        BenchmarkFakes.bootstrap();
+        container = new WunderKisteContainer(WunderKisteDomain.ID.forString("benchmark"));
+        for (int i = 0; i < container.getContainerSize(); i++) {
+            ItemStack stack = new ItemStack(i % 2 == 0 ? Items.DIAMOND_SWORD : Items.COBBLESTONE, i % 2 == 0 ? 1 : 64);
+            if (i % 2 == 0) stack.setHoverName(Component.literal("Sword " + i));
+            container.setItem(i, stack);
+        }
+        items = container.createTag();
+    }
+
+    //nothing changed since the last call, so only the cached slot compounds are collected
+    @Benchmark
+    public ListTag createTagUnchanged() {
+        return container.createTag();
+    }
+
+    //a hopper moved a single item
+    @Benchmark
+    public ListTag createTagOneSlotChanged() {
+        //odd slots hold cobblestone
+        slot = (slot + 2) % (container.getContainerSize() - 1);
+        final ItemStack stack = container.getItem(slot | 1).copy();
+        stack.setCount(stack.getCount() == 64 ? 63 : 64);
+        container.setItem(slot | 1, stack);
+        return container.createTag();
+    }
+
+    //a comparator next to one of the boxes of the domain
+    @Benchmark
+    public int analogSignal() {
+        return container.getAnalogSignal();
+    }
+
+    //what every comparator read cost before the signal was cached
+    @Benchmark
+    public int analogSignalScan() {
+        return AbstractContainerMenu.getRedstoneSignalFromContainer(container);
+    }
+
+    @Benchmark
+    public WunderKisteContainer fromTag() {
+        container.fromTag(items);
+        return container;
+    }
+}
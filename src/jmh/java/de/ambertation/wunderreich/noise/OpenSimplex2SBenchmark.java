@@ -0,0 +1,28 @@
+package de.ambertation.wunderreich.noise;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OpenSimplex2SBenchmark {
+    private static final int SIZE = 16;
+    private static final long SEED = 1337;
+    private static final double SCALE = 0.1;
+
+    //one 16x16x16 section
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE * SIZE)
+    public void noise3_ImproveXZ(Blackhole bh) {
+        for (int y = 0; y < SIZE; y++) {
+            for (int z = 0; z < SIZE; z++) {
+                for (int x = 0; x < SIZE; x++) {
+                    bh.consume(OpenSimplex2S.noise3_ImproveXZ(SEED, x * SCALE, y * SCALE, z * SCALE));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package de.ambertation.wunderreich.utils;
+
+import net.minecraft.world.level.ChunkPos;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+//Compares the old LinkedList based chunk lookup from LiveBlockManager with ChunkTickets
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChunkTicketsBenchmark {
+    private static final int PROBES = 1024;
+    private static final int WORLD_RADIUS = 2000;
+
+    @Param({"10", "100", "1000", "10000"})
+    public int boxes;
+
+    private List<ChunkPos> oldChunks;
+    private ChunkTickets newChunks;
+    private long[] probes;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1337);
+        oldChunks = new LinkedList<>();
+        newChunks = new ChunkTickets();
+
+        final long[] placed = new long[boxes];
+        for (int i = 0; i < boxes; i++) {
+            final ChunkPos cPos = new ChunkPos(
+                    random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS,
+                    random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS
+            );
+            placed[i] = cPos.toLong();
+            if (!oldChunks.contains(cPos)) oldChunks.add(cPos);
+            newChunks.inc(cPos.toLong());
+        }
+
+        //half of the probes hit a loaded chunk, the other half (most likely) miss
+        probes = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            if ((i & 1) == 0) {
+                probes[i] = placed[random.nextInt(boxes)];
+            } else {
+                probes[i] = ChunkPos.asLong(
+                        random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS,
+                        random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS
+                );
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void shouldTickLinkedList(Blackhole bh) {
+        for (long probe : probes) {
+            bh.consume(oldChunks.contains(new ChunkPos(probe)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void shouldTickChunkTickets(Blackhole bh) {
+        for (long probe : probes) {
+            bh.consume(newChunks.contains(probe));
+        }
+    }
+
+    @Benchmark
+    public void addRemoveChunkTickets(Blackhole bh) {
+        final long probe = probes[0];
+        bh.consume(newChunks.inc(probe));
+        bh.consume(newChunks.dec(probe));
+    }
+}
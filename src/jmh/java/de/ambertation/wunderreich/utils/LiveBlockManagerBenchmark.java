@@ -0,0 +1,98 @@
+package de.ambertation.wunderreich.utils;
+
+import de.ambertation.wunderreich.BenchmarkFakes;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LiveBlockManagerBenchmark {
+    private static final int PROBES = 1024;
+    private static final int WORLD_RADIUS = 2000;
+    private static final int RADIUS = 2;
+
+    //with 0 boxes no chunk is loaded: shouldTick takes the early return for an empty map, and
+    //addRemoveLoadedChunk has to add and remove the tickets every time
+    @Param({"0", "10", "1000"})
+    public int boxes;
+
+    private final LiveBlockManager<LiveBlockManager.LiveBlock> manager = new LiveBlockManager<>("benchmark");
+    private ServerLevel level;
+    private LiveBlockManager.LiveBlock box;
+    private long[] probes;
+
+    @Setup
+    public void setup() {
+        //the fake level is only used as a map key, the tickets go to a sink that does nothing
+        LiveBlockManager.ticketSink = new LiveBlockManager.TicketSink() {
+            @Override
+            public void add(ServerLevel level, ChunkPos cPos) {
+            }
+
+            @Override
+            public void remove(ServerLevel level, ChunkPos cPos) {
+            }
+        };
+        level = BenchmarkFakes.allocate(ServerLevel.class);
+
+        final Random random = new Random(1337);
+        final long[] placed = new long[boxes];
+        for (int i = 0; i < boxes; i++) {
+            final BlockPos pos = new BlockPos(
+                    (random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS) << 4,
+                    64,
+                    (random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS) << 4
+            );
+            placed[i] = ChunkPos.asLong(pos);
+            LiveBlockManager.addLoadedChunk(new LiveBlockManager.LiveBlock(pos, level), 1);
+        }
+
+        //keep a permanent reference on the chunks around the box, so adding and removing it
+        //only changes the counters and never has to add or remove a ticket
+        box = new LiveBlockManager.LiveBlock(new BlockPos(8, 64, 8), level);
+        if (boxes > 0) LiveBlockManager.addLoadedChunk(box, RADIUS);
+
+        //half of the probes hit a loaded chunk, the other half (most likely) miss
+        probes = new long[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            if ((i & 1) == 0 && boxes > 0) {
+                probes[i] = placed[random.nextInt(boxes)];
+            } else {
+                probes[i] = ChunkPos.asLong(
+                        random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS,
+                        random.nextInt(2 * WORLD_RADIUS) - WORLD_RADIUS
+                );
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        //the manager has no boxes, so this only drops the chunks of the fake level
+        manager.rebuildLoadedChunks();
+        LiveBlockManager.ticketSink = LiveBlockManager.DISTANCE_MANAGER;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PROBES)
+    public void shouldTick(Blackhole bh) {
+        for (long probe : probes) {
+            bh.consume(manager.shouldTick(level, probe));
+        }
+    }
+
+    @Benchmark
+    public void addRemoveLoadedChunk() {
+        LiveBlockManager.addLoadedChunk(box, RADIUS);
+        LiveBlockManager.removeLoadedChunk(box, RADIUS);
+    }
+}
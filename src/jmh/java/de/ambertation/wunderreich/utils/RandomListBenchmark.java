@@ -0,0 +1,49 @@
+package de.ambertation.wunderreich.utils;
+
+import de.ambertation.lib.math.Float3;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RandomListBenchmark {
+    private static final int SAMPLES = 1024;
+
+    @Param({"3", "9", "18"})
+    public int entries;
+
+    private RandomList<Integer> list;
+    private Float3[] positions;
+    private Function<Float3, Float> noise;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(1337);
+        list = new RandomList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            list.add(i, 0.5f + random.nextFloat() * 4);
+        }
+
+        positions = new Float3[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            positions[i] = Float3.of(random.nextInt(64), random.nextInt(64), random.nextInt(64));
+        }
+
+        //cheap stand-in for the noise functions used by the trowel
+        noise = p -> (float) ((Math.abs(p.x * 31 + p.y * 17 + p.z * 13) % 97) / 97.0);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public void getRandomIndexAt(Blackhole bh) {
+        for (Float3 pos : positions) {
+            bh.consume(list.getRandomIndexAt(pos, noise));
+        }
+    }
+}
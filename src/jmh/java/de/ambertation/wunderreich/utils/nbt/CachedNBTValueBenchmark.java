@@ -0,0 +1,41 @@
+package de.ambertation.wunderreich.utils.nbt;
+
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.IntTag;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CachedNBTValueBenchmark {
+    private CompoundTag tag;
+    private CachedNBTValue<Integer, IntTag> value;
+    private int counter;
+
+    @Setup
+    public void setup() {
+        tag = new CompoundTag();
+        tag.putInt("value", 42);
+        value = new CachedNBTValue<>(tag, "value", 0, IntTag::getAsInt, IntTag::valueOf);
+    }
+
+    @Benchmark
+    public Integer getCached() {
+        return value.get();
+    }
+
+    @Benchmark
+    public Integer setGetRoundTrip() {
+        value.set(++counter & 0xFFFF);
+        return value.get();
+    }
+
+    //a fresh wrapper around the same tag, like a new ConstructionData instance does
+    @Benchmark
+    public Integer getUncached() {
+        return new CachedNBTValue<Integer, IntTag>(tag, "value", 0, IntTag::getAsInt, IntTag::valueOf).get();
+    }
+}
@@ -2,14 +2,18 @@ package de.ambertation.wunderreich.blockentities;
 
 import de.ambertation.wunderreich.blocks.WunderKisteBlock;
 import de.ambertation.wunderreich.interfaces.ActiveChestStorage;
+import de.ambertation.wunderreich.interfaces.WunderKisteExtensionProvider;
 import de.ambertation.wunderreich.registries.WunderreichBlockEntities;
 import de.ambertation.wunderreich.registries.WunderreichBlocks;
+import de.ambertation.wunderreich.utils.LiveBlockManager;
 import de.ambertation.wunderreich.utils.WunderKisteDomain;
+import de.ambertation.wunderreich.utils.WunderKisteServerExtension;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.sounds.SoundEvents;
 import net.minecraft.sounds.SoundSource;
 import net.minecraft.world.Nameable;
@@ -21,6 +25,7 @@ import net.minecraft.world.level.block.entity.ContainerOpenersCounter;
 import net.minecraft.world.level.block.entity.LidBlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 
+import java.util.Objects;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -28,6 +33,12 @@ import org.jetbrains.annotations.Nullable;
 public class WunderKisteBlockEntity extends BlockEntity implements LidBlockEntity, Nameable {
     private final ChestLidController chestLidController = new ChestLidController();
     private Component domainName;
+    //the ID for domainName, resolved on first use
+    @Nullable
+    private WunderKisteDomain.ID domainID;
+    //the domain this box is currently counted as open in
+    @Nullable
+    private WunderKisteDomain.ID countedOpenIn;
 
     @Override
     public void load(CompoundTag compoundTag) {
@@ -35,6 +46,7 @@ public class WunderKisteBlockEntity extends BlockEntity implements LidBlockEntit
         if (compoundTag.contains("CustomName", Tag.TAG_STRING)) {
             this.domainName = Component.Serializer.fromJson(compoundTag.getString("CustomName"));
         }
+        this.domainID = null;
     }
 
     @Override
@@ -60,6 +72,7 @@ public class WunderKisteBlockEntity extends BlockEntity implements LidBlockEntit
 
     private final ContainerOpenersCounter openersCounter = new ContainerOpenersCounter() {
         protected void onOpen(Level level, BlockPos blockPos, @NotNull BlockState blockState) {
+            updateOpenCount();
             //System.out.println("Open " + blockPos.getZ());
             level.playSound(
                     null,
@@ -74,6 +87,7 @@ public class WunderKisteBlockEntity extends BlockEntity implements LidBlockEntit
         }
 
         protected void onClose(Level level, BlockPos blockPos, @NotNull BlockState blockState) {
+            updateOpenCount();
             //System.out.println("Close " + blockPos.getZ());
             level.playSound(
                     null,
@@ -143,6 +157,36 @@ public class WunderKisteBlockEntity extends BlockEntity implements LidBlockEntit
         if (!this.remove) {
             this.openersCounter.recheckOpeners(this.getLevel(), this.getBlockPos(), this.getBlockState());
         }
+        //the box might have been recoloured or lost players without an onClose
+        updateOpenCount();
+    }
+
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        updateOpenCount();
+    }
+
+    private void updateOpenCount() {
+        if (!(this.level instanceof ServerLevel serverLevel)) return;
+
+        final WunderKisteDomain.ID openIn = !this.remove && isOpen()
+                ? WunderKisteServerExtension.getDomainID(this.getBlockState(), this)
+                : null;
+        if (Objects.equals(openIn, countedOpenIn)) return;
+
+        final WunderKisteServerExtension ext = serverLevel.getServer() instanceof WunderKisteExtensionProvider p
+                ? p.getWunderKisteExtension()
+                : null;
+        if (countedOpenIn != null) {
+            WunderKisteBlock.changeOpenCount(countedOpenIn, -1);
+            if (ext != null) ext.queueOpenStateChange(countedOpenIn);
+        }
+        if (openIn != null) {
+            WunderKisteBlock.changeOpenCount(openIn, 1);
+            if (ext != null) ext.queueOpenStateChange(openIn);
+        }
+        countedOpenIn = openIn;
     }
 
     public boolean isOpen() {
@@ -156,11 +200,41 @@ public class WunderKisteBlockEntity extends BlockEntity implements LidBlockEntit
 
     public void setDomainName(Component component) {
         this.domainName = component;
+        this.domainID = null;
+        if (this.level instanceof ServerLevel serverLevel) {
+            WunderKisteServerExtension.DOMAINS.update(new LiveBlockManager.LiveBlock(this.worldPosition, serverLevel));
+            updateOpenCount();
+        }
+        requestContainer();
+    }
+
+    @Override
+    public void setLevel(Level level) {
+        super.setLevel(level);
+        requestContainer();
+    }
+
+    @Override
+    public void setBlockState(BlockState blockState) {
+        super.setBlockState(blockState);
+        requestContainer();
+    }
+
+    //starts loading the container of our domain in the background, so hoppers, comparators and the
+    //first player opening the box do not have to wait for the disk
+    private void requestContainer() {
+        if (this.level instanceof ServerLevel serverLevel
+                && serverLevel.getServer() instanceof WunderKisteExtensionProvider p) {
+            p.getWunderKisteExtension().requestContainer(
+                    WunderKisteServerExtension.getDomainID(getBlockState(), this)
+            );
+        }
     }
 
     public WunderKisteDomain.ID getDomainName() {
         if (this.domainName == null) return null;
-        return WunderKisteDomain.ID.forString(domainName.getString());
+        if (domainID == null) domainID = WunderKisteDomain.ID.forString(domainName.getString());
+        return domainID;
     }
 
     protected Component getDefaultName() {
@@ -192,7 +266,8 @@ public class WunderKisteBlockEntity extends BlockEntity implements LidBlockEntit
 
     @Override
     public boolean hasCustomName() {
-        return this.getCustomName() != null && this.getDomainName() != null && !this.getDomainName().isEmpty();
+        final WunderKisteDomain.ID id = this.getDomainName();
+        return id != null && !id.isEmpty();
     }
 
 }
@@ -28,7 +28,6 @@ import net.minecraft.world.*;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.entity.monster.piglin.PiglinAi;
 import net.minecraft.world.entity.player.Player;
-import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.inventory.ChestMenu;
 import net.minecraft.world.item.CreativeModeTab;
 import net.minecraft.world.item.Item;
@@ -61,10 +60,10 @@ import net.minecraft.world.phys.shapes.VoxelShape;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 
-import com.google.common.collect.Maps;
-
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.jetbrains.annotations.NotNull;
@@ -78,7 +77,8 @@ public class WunderKisteBlock extends AbstractChestBlock<WunderKisteBlockEntity>
     public static final BooleanProperty WATERLOGGED;
     protected static final VoxelShape SHAPE;
     private static final Component CONTAINER_TITLE;
-    private static final Map<WunderKisteDomain, Boolean> hasAnyOpenInstance = Maps.newHashMap();
+    //number of open boxes per domain, maintained by the block entities
+    private static final Map<WunderKisteDomain.ID, AtomicInteger> openBoxes = new ConcurrentHashMap<>();
 
     static {
         FACING = HorizontalDirectionalBlock.FACING;
@@ -111,39 +111,34 @@ public class WunderKisteBlock extends AbstractChestBlock<WunderKisteBlockEntity>
             boolean withOpenState,
             boolean withFillrate
     ) {
-        WunderKisteContainer container = getContainer(state, entity, server);
-        WunderKisteBlock.updateAllBoxes(container, withOpenState, withFillrate);
-    }
-
-    public static void updateAllBoxes(Container container, boolean withOpenState, boolean withFillrate) {
-        WunderKisteContainer c = null;
-        if (container instanceof WunderKisteContainer wc) c = wc;
-        updateAllBoxes(c, withOpenState, withFillrate);
-    }
-
-    private static void updateAllBoxes(WunderKisteContainer container, boolean withOpenState, boolean withFillrate) {
         if (!WunderreichRules.Wunderkiste.isRedstoneEnabled()) return;
 
-
-        if (container != null) {
-            //check if any box was opened
+        if (server instanceof WunderKisteExtensionProvider extWunderkiste) {
+            final WunderKisteServerExtension ext = extWunderkiste.getWunderKisteExtension();
+            final WunderKisteDomain.ID domainID = WunderKisteServerExtension.getDomainID(state, entity);
+            //the open counters are already up to date, we only need to notify the boxes
             if (withOpenState) {
-                for (WunderKisteDomain d : WunderKisteDomain.values()) hasAnyOpenInstance.put(d, false);
-
-                getLiveBlockManager().forEach((liveBlock) -> {
-                    BlockEntity be = liveBlock.getLevel().getBlockEntity(liveBlock.pos);
-                    if (be instanceof WunderKisteBlockEntity) {
-                        WunderKisteBlockEntity entity = (WunderKisteBlockEntity) be;
-                        WunderKisteDomain d = WunderKisteServerExtension.getDomain(entity.getBlockState());
-                        hasAnyOpenInstance.put(d, entity.isOpen() || hasAnyOpenInstance.get(d));
-                    }
-                });
+                ext.queueOpenStateChange(domainID);
             }
 
-            //send update message
-            getLiveBlockManager().emitChange();
+            //the boxes are notified once at the end of the tick
+            if (withFillrate) {
+                ext.queueFillrateChange(domainID);
+            }
         }
+    }
+
+    public static void changeOpenCount(WunderKisteDomain.ID domainID, int delta) {
+        openBoxes.computeIfAbsent(domainID, d -> new AtomicInteger()).addAndGet(delta);
+    }
 
+    public static boolean isAnyOpen(WunderKisteDomain.ID domainID) {
+        final AtomicInteger count = openBoxes.get(domainID);
+        return count != null && count.get() > 0;
+    }
+
+    public static void resetOpenCounts() {
+        openBoxes.clear();
     }
 
     public static void updateNeighbours(LiveBlockManager.LiveBlock live) {
@@ -178,6 +173,19 @@ public class WunderKisteBlock extends AbstractChestBlock<WunderKisteBlockEntity>
         return null;
     }
 
+    //never waits for a domain to load, returns null until it is loaded
+    @Nullable
+    public static WunderKisteContainer getLoadedContainer(
+            BlockState state,
+            @Nullable BlockEntity entity,
+            @Nullable MinecraftServer server
+    ) {
+        if (server instanceof WunderKisteExtensionProvider extWunderkiste) {
+            return extWunderkiste.getWunderKisteExtension().getLoadedContainer(state, entity);
+        }
+        return null;
+    }
+
     public static LiveBlockManager<LiveBlockManager.LiveBlock> getLiveBlockManager() {
         return WunderKisteServerExtension.WUNDERKISTEN;
     }
@@ -409,9 +417,13 @@ public class WunderKisteBlock extends AbstractChestBlock<WunderKisteBlockEntity>
     @Override
     public int getAnalogOutputSignal(@NotNull BlockState blockState, @NotNull Level level, @NotNull BlockPos blockPos) {
         if (WunderreichRules.Wunderkiste.analogRedstoneOutput()) {
-            WunderKisteContainer wunderKisteContainer = getContainer(blockState, level.getBlockEntity(blockPos), level);
+            WunderKisteContainer wunderKisteContainer = getLoadedContainer(
+                    blockState,
+                    level.getBlockEntity(blockPos),
+                    level.getServer()
+            );
             if (wunderKisteContainer != null) {
-                return AbstractContainerMenu.getRedstoneSignalFromContainer(wunderKisteContainer);
+                return wunderKisteContainer.getAnalogSignal();
             }
         }
         return 0;
@@ -430,8 +442,11 @@ public class WunderKisteBlock extends AbstractChestBlock<WunderKisteBlockEntity>
             @NotNull Direction direction
     ) {
         if (!WunderreichRules.Wunderkiste.redstonePowerWhenOpened()) return 0;
-        final WunderKisteDomain domain = WunderKisteServerExtension.getDomain(blockState);
-        return hasAnyOpenInstance.getOrDefault(domain, false) ? 15 : 0;
+        final WunderKisteDomain.ID domainID = WunderKisteServerExtension.getDomainID(
+                blockState,
+                blockGetter.getBlockEntity(blockPos)
+        );
+        return isAnyOpen(domainID) ? 15 : 0;
     }
 
 //	@Override
@@ -492,7 +507,8 @@ public class WunderKisteBlock extends AbstractChestBlock<WunderKisteBlockEntity>
             LevelAccessor levelAccessor,
             @NotNull BlockPos blockPos
     ) {
-        return getContainer(blockState, levelAccessor.getBlockEntity(blockPos), levelAccessor.getServer());
+        //hoppers see no container until the domain is loaded
+        return getLoadedContainer(blockState, levelAccessor.getBlockEntity(blockPos), levelAccessor.getServer());
     }
 
     @Override
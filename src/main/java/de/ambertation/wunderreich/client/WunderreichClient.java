@@ -3,8 +3,11 @@ package de.ambertation.wunderreich.client;
 import de.ambertation.wunderreich.Wunderreich;
 import de.ambertation.wunderreich.config.Configs;
 import de.ambertation.wunderreich.gui.overlay.InputManager;
+import de.ambertation.wunderreich.gui.overlay.OverlayRenderer;
 import de.ambertation.wunderreich.interfaces.BlockEntityProvider;
 import de.ambertation.wunderreich.interfaces.ChangeRenderLayer;
+import de.ambertation.wunderreich.network.ChangedSDFMessage;
+import de.ambertation.wunderreich.network.ChangedTargetBlockMessage;
 import de.ambertation.wunderreich.registries.WunderreichParticles;
 import de.ambertation.wunderreich.registries.WunderreichScreens;
 import de.ambertation.wunderreich.registries.WunderreichSlabBlocks;
@@ -22,8 +25,10 @@ import net.fabricmc.api.ClientModInitializer;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.fabric.api.blockrenderlayer.v1.BlockRenderLayerMap;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
 import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.client.keybinding.v1.KeyBindingHelper;
+import net.fabricmc.fabric.api.client.networking.v1.ClientPlayConnectionEvents;
 import net.fabricmc.fabric.api.client.rendering.v1.BlockEntityRendererRegistry;
 import net.fabricmc.fabric.api.client.rendering.v1.ColorProviderRegistry;
 
@@ -106,6 +111,14 @@ public class WunderreichClient implements ClientModInitializer {
             while (transformKey.consumeClick()) {
                 InputManager.INSTANCE.startTransformMode();
             }
+            if (client.player != null) {
+                ChangedTargetBlockMessage.INSTANCE.flush();
+                ChangedSDFMessage.INSTANCE.flush();
+            }
         });
+
+        //the VertexBuffers can only be freed on the render thread
+        ClientPlayConnectionEvents.DISCONNECT.register((handler, client) -> client.execute(OverlayRenderer.INSTANCE::releasePreview));
+        ClientLifecycleEvents.CLIENT_STOPPING.register(client -> OverlayRenderer.INSTANCE.releasePreview());
     }
 }
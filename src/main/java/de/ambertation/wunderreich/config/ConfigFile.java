@@ -28,13 +28,18 @@ public class ConfigFile {
     private final List<Value<?>> knownValues = new LinkedList<>();
     private JsonObject root;
     private boolean modified;
+    //incremented whenever the json tree changes, values cache their converted result for one generation
+    private volatile int generation;
 
     public ConfigFile(String category) {
         this(Wunderreich.MOD_ID, category);
     }
 
     public ConfigFile(String basePath, String category) {
-        final Path dir = FabricLoader.getInstance().getConfigDir().resolve(basePath);
+        this(FabricLoader.getInstance().getConfigDir().resolve(basePath), basePath, category);
+    }
+
+    ConfigFile(Path dir, String basePath, String category) {
         path = dir.resolve(category + ".json").toFile();
         this.category = basePath + "." + category;
 
@@ -50,6 +55,12 @@ public class ConfigFile {
         modified = true;
     }
 
+    //Call after the json tree was changed. Readers load the generation before they read the tree, so
+    //one that sees the new generation also sees the new tree
+    private void treeChanged() {
+        generation++;
+    }
+
     private void registerValue(Value<?> v) {
         knownValues.remove(v);
         knownValues.add(v);
@@ -63,12 +74,12 @@ public class ConfigFile {
     }
 
     private void setValue(ConfigToken t, JsonElement value) {
-        if (!value.equals(getValue(t, true))) {
-            setModified();
-        }
+        if (value.equals(getValue(t, true))) return;
 
         JsonObject obj = getPathElement(t.path, true);
         obj.add(t.key, value);
+        setModified();
+        treeChanged();
     }
 
     private void removeValue(ConfigToken t) {
@@ -77,6 +88,7 @@ public class ConfigFile {
             Wunderreich.LOGGER.info("Removing Config " + t.path + "." + t.key);
             o.remove(t.key);
             setModified();
+            treeChanged();
         }
     }
 
@@ -115,6 +127,7 @@ public class ConfigFile {
             this.root = new JsonObject();
             this.root.add(CREATE_VERSION, new JsonPrimitive(Wunderreich.VERSION.toString()));
         }
+        treeChanged();
     }
 
     public void save() {
@@ -153,6 +166,9 @@ public class ConfigFile {
         return new Version(getVersionString(CREATE_VERSION));
     }
 
+    private record Resolved<T>(T value, int generation) {
+    }
+
     public record ConfigToken<T>(String path, String key, T defaultValue) {
         @Override
         public String toString() {
@@ -171,6 +187,8 @@ public class ConfigFile {
         protected Supplier<Boolean> isValidSupplier;
         private boolean hiddenInUI = false;
         private boolean deprecated = false;
+        @Nullable
+        private volatile Resolved<T> resolved;
 
         public Value(String path, String key, T defaultValue) {
             this(new ConfigToken(path, key, defaultValue), false);
@@ -211,6 +229,17 @@ public class ConfigFile {
         }
 
         public final T getRaw() {
+            final Resolved<T> r = resolved;
+            final int g = generation;
+            if (r != null && r.generation == g) return r.value;
+
+            final T value = resolve();
+            //g was read before resolving, so a change made in the meantime makes the next read resolve again
+            resolved = new Resolved<>(value, g);
+            return value;
+        }
+
+        private T resolve() {
             JsonElement el = getValue(token, !deprecated);
             if (el == null) {
                 if (!deprecated) set(token.defaultValue);
@@ -7,14 +7,13 @@ import net.minecraft.world.level.storage.LevelResource;
 import net.minecraft.world.level.storage.LevelStorageSource;
 
 import java.nio.file.Path;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 public class LevelData {
     public final static String DATA_FOLDER = "data";
-    private static final String LIVEBLOCKS_TAG_NAME = "live_blocks";
     private static LevelData INSTANCE;
     @Nullable
     Path levelPath;
@@ -32,6 +31,8 @@ public class LevelData {
     }
 
     private void reset() {
+        //make sure all pending writes of the previous level end up in the previous level
+        LevelDataPersistence.INSTANCE.flush();
         levelFile = null;
         levelPath = null;
 
@@ -61,41 +62,37 @@ public class LevelData {
         return new CompoundTag();
     }
 
+    //Every domain and the live-block registry are stored in their own file, so a change
+    //only rewrites the data that actually changed
+    private LevelDataFile liveBlocksFile(String type) {
+        return fileForName("_lb_" + type);
+    }
+
+    private LevelDataFile fileForDomain(WunderKisteDomain.ID domain) {
+        if (domain.isBuiltIn()) return fileForName("_wk_" + domain);
+        return fileForName(domain.toString());
+    }
+
     public CompoundTag getLiveBlocks(String type) {
-        CompoundTag liveBlocks;
-        final CompoundTag root = getRoot();
-        if (!root.contains(LIVEBLOCKS_TAG_NAME)) {
-            liveBlocks = new CompoundTag();
-            root.put(LIVEBLOCKS_TAG_NAME, liveBlocks);
-        } else {
-            liveBlocks = root.getCompound(LIVEBLOCKS_TAG_NAME);
-        }
+        if (levelFile == null) return new CompoundTag();
+        return liveBlocksFile(type).getLiveBlocks(type, levelFile);
+    }
 
-        if (!liveBlocks.contains(type)) {
-            CompoundTag item = new CompoundTag();
-            liveBlocks.put(type, item);
-            return item;
-        } else {
-            return liveBlocks.getCompound(type);
-        }
+    public void saveLiveBlocks(String type) {
+        if (levelFile != null)
+            liveBlocksFile(type).save();
     }
 
     public CompoundTag getWunderkisteInventory(WunderKisteDomain.ID domain) {
-        if (domain.extraFile == null)
-            return levelFile.getWunderkisteInventory(domain.toString());
-
-        return domain.extraFile.getWunderkisteInventory(domain.toString());
+        return fileForDomain(domain).getWunderkisteInventory(domain.toString(), levelFile);
     }
 
     public void saveWunderkisteInventory(WunderKisteDomain.ID domain) {
-        if (domain.extraFile == null) {
-            this.saveLevelConfig();
-        } else {
-            domain.extraFile.save();
-        }
+        fileForDomain(domain).save();
     }
 
-    private static final Map<String, LevelDataFile> FILES = new HashMap<>();
+    //domains are loaded on background threads
+    private static final Map<String, LevelDataFile> FILES = new ConcurrentHashMap<>();
 
     public LevelDataFile fileForName(String name) {
         return FILES.computeIfAbsent(name, n -> new LevelDataFile(this, n));
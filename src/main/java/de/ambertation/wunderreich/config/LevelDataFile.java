@@ -14,12 +14,14 @@ import org.jetbrains.annotations.NotNull;
 
 public class LevelDataFile {
     private static final String WUNDERKISTE_TAG_NAME = "wunderkiste";
+    private static final String LIVEBLOCKS_TAG_NAME = "live_blocks";
     private static final String OLD_GLOBAL_TAG_NAME = "global";
 
     @NotNull
     private LevelData levelData;
     private String baseName;
     private boolean didLoad;
+    private boolean loadedFromDisk;
     @NotNull
     private CompoundTag root;
 
@@ -33,6 +35,7 @@ public class LevelDataFile {
     void reset() {
         root = new CompoundTag();
         didLoad = false;
+        loadedFromDisk = false;
     }
 
 
@@ -65,6 +68,7 @@ public class LevelDataFile {
                 }
             }
 
+            this.loadedFromDisk = loadedRoot != null;
             if (loadedRoot == null) {
                 loadedRoot = new CompoundTag();
                 loadedRoot.putString("create_version", Wunderreich.VERSION.toString());
@@ -76,54 +80,102 @@ public class LevelDataFile {
     }
 
     public void save() {
+        LevelDataPersistence.INSTANCE.markDirty(this);
+    }
+
+    LevelDataPersistence.PendingWrite createPendingWrite() {
         synchronized (this) {
-            if (levelData == null || baseName == null) {
+            if (levelData == null || baseName == null || levelData.levelPath == null) {
                 Wunderreich.LOGGER.error("Unable to write config " + baseName + " - " + baseName);
-                return;
+                return null;
             }
 
-            final File tempFile = getDataFile("_temp");
             root.putString("modify_version", Wunderreich.VERSION.toString());
-            try {
-                NbtIo.writeCompressed(root, tempFile);
-                final File dataFile = getDataFile("");
-                final File oldFile = getDataFile("_old");
-
-                Util.safeReplaceFile(dataFile, tempFile, oldFile);
-            } catch (IOException e) {
-                Wunderreich.LOGGER.error(
-                        "Unable to write level config for '{}'.",
-                        levelData.dataPath() + " - " + baseName,
-                        e
-                );
-            }
+            return new LevelDataPersistence.PendingWrite(
+                    root.copy(),
+                    getDataFile(""),
+                    getDataFile("_temp"),
+                    getDataFile("_old")
+            );
+        }
+    }
+
+    static void writeCompressed(CompoundTag root, File dataFile, File tempFile, File oldFile) {
+        try {
+            NbtIo.writeCompressed(root, tempFile);
+            Util.safeReplaceFile(dataFile, tempFile, oldFile);
+        } catch (IOException e) {
+            Wunderreich.LOGGER.error(
+                    "Unable to write level config for '{}'.",
+                    dataFile,
+                    e
+            );
         }
     }
 
-    CompoundTag getWunderkisteInventory(String domain) {
+    private CompoundTag getGroup(String group) {
         if (!didLoad) load();
-        CompoundTag wunderkiste;
+        CompoundTag tag;
         final CompoundTag root = getRoot();
-        if (!root.contains(WUNDERKISTE_TAG_NAME)) {
-            wunderkiste = new CompoundTag();
+        if (!root.contains(group)) {
+            tag = new CompoundTag();
 
             //we found the initial file format => convert it to the new one
-            if (root.contains(OLD_GLOBAL_TAG_NAME)) {
-                wunderkiste.put(WunderKisteBlock.DEFAULT_DOMAIN.toString(), root.getCompound(OLD_GLOBAL_TAG_NAME));
+            if (WUNDERKISTE_TAG_NAME.equals(group) && root.contains(OLD_GLOBAL_TAG_NAME)) {
+                tag.put(WunderKisteBlock.DEFAULT_DOMAIN.toString(), root.getCompound(OLD_GLOBAL_TAG_NAME));
                 root.remove(OLD_GLOBAL_TAG_NAME);
             }
 
-            root.put(WUNDERKISTE_TAG_NAME, wunderkiste);
+            root.put(group, tag);
         } else {
-            wunderkiste = root.getCompound(WUNDERKISTE_TAG_NAME);
+            tag = root.getCompound(group);
         }
+        return tag;
+    }
 
-        if (wunderkiste.contains(domain, Tag.TAG_COMPOUND)) {
-            return wunderkiste.getCompound(domain);
+    CompoundTag getWunderkisteInventory(String domain, LevelDataFile legacy) {
+        return getShardedCompound(WUNDERKISTE_TAG_NAME, domain, legacy);
+    }
+
+    CompoundTag getLiveBlocks(String type, LevelDataFile legacy) {
+        return getShardedCompound(LIVEBLOCKS_TAG_NAME, type, legacy);
+    }
+
+    //Returns the compound stored in this file. If this file does not know the key yet, the data is
+    //moved over from the legacy file (the root file from before domains were sharded).
+    private synchronized CompoundTag getShardedCompound(String group, String key, LevelDataFile legacy) {
+        final CompoundTag tag = getGroup(group);
+        if (legacy == this) legacy = null;
+
+        if (tag.contains(key, Tag.TAG_COMPOUND)) {
+            //the shard is on disk, so it is safe to drop the stale copy from the legacy file
+            if (legacy != null && loadedFromDisk) legacy.removeFromGroup(group, key);
+            return tag.getCompound(key);
+        }
+
+        CompoundTag result = legacy == null ? null : legacy.copyFromGroup(group, key);
+        if (result == null) {
+            result = new CompoundTag();
         } else {
-            CompoundTag global = new CompoundTag();
-            wunderkiste.put(domain, global);
-            return global;
+            //the legacy copy is only removed once this file was written, so a crash can not lose data
+            Wunderreich.LOGGER.info("Moving {} '{}' to its own file.", group, key);
+            save();
+        }
+        tag.put(key, result);
+        return result;
+    }
+
+    private synchronized CompoundTag copyFromGroup(String group, String key) {
+        final CompoundTag tag = getGroup(group);
+        if (!tag.contains(key, Tag.TAG_COMPOUND)) return null;
+        return tag.getCompound(key).copy();
+    }
+
+    private synchronized void removeFromGroup(String group, String key) {
+        final CompoundTag tag = getGroup(group);
+        if (tag.contains(key)) {
+            tag.remove(key);
+            save();
         }
     }
 
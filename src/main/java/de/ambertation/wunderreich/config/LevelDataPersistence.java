@@ -0,0 +1,90 @@
+package de.ambertation.wunderreich.config;
+
+import de.ambertation.wunderreich.Wunderreich;
+
+import net.minecraft.nbt.CompoundTag;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Writes {@link LevelDataFile}s on a single shared background thread.
+ * <p>
+ * Files are marked dirty from the server thread. Once their save window passed, the server thread takes
+ * a snapshot of the {@link CompoundTag} and hands it to the background thread, which does the
+ * compression and the file replacement. If a file is written again while a previous write is still
+ * queued, only the newest snapshot is written.
+ */
+public class LevelDataPersistence {
+    public static final LevelDataPersistence INSTANCE = new LevelDataPersistence();
+    private static final long SAVE_DELAY_MS = 5000;
+
+    private final Map<LevelDataFile, Long> dirty = new ConcurrentHashMap<>();
+    private final Map<LevelDataFile, PendingWrite> pending = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+
+    private LevelDataPersistence() {
+    }
+
+    public void markDirty(LevelDataFile file) {
+        dirty.putIfAbsent(file, System.currentTimeMillis() + SAVE_DELAY_MS);
+    }
+
+    //Called at the end of every server tick
+    public void tick() {
+        if (dirty.isEmpty()) return;
+
+        final long now = System.currentTimeMillis();
+        dirty.entrySet().removeIf(e -> {
+            if (e.getValue() > now) return false;
+            submit(e.getKey());
+            return true;
+        });
+    }
+
+    //Writes all dirty files and waits until the background thread is done
+    public void flush() {
+        for (LevelDataFile file : dirty.keySet()) {
+            dirty.remove(file);
+            submit(file);
+        }
+
+        if (executor == null) return;
+        try {
+            executor.submit(() -> {
+            }).get();
+        } catch (InterruptedException | ExecutionException e) {
+            Wunderreich.LOGGER.error("Failed to flush level data.", e);
+        }
+    }
+
+    private void submit(LevelDataFile file) {
+        final PendingWrite write = file.createPendingWrite();
+        if (write == null) return;
+
+        if (pending.put(file, write) == null) {
+            getExecutor().execute(() -> {
+                final PendingWrite current = pending.remove(file);
+                if (current != null) current.write();
+            });
+        }
+    }
+
+    private synchronized ExecutorService getExecutor() {
+        if (executor == null) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "Wunderreich Level Data");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return executor;
+    }
+
+    record PendingWrite(CompoundTag root, File dataFile, File tempFile, File oldFile) {
+        void write() {
+            LevelDataFile.writeCompressed(root, dataFile, tempFile, oldFile);
+        }
+    }
+}
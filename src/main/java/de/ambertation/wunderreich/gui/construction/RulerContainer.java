@@ -1,6 +1,10 @@
 package de.ambertation.wunderreich.gui.construction;
 
+import de.ambertation.wunderreich.utils.RandomList;
+import de.ambertation.wunderreich.utils.WeightedSampler;
+
 import net.minecraft.world.SimpleContainer;
+import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.ItemStack;
 
 import java.util.function.Consumer;
@@ -22,6 +26,8 @@ public class RulerContainer extends SimpleContainer {
     public static final int SIZE = CATEGORIES_SLOT_END;
 
     Consumer<RulerContainer> onChange;
+    //the weighted block materials of each category, built on first use after a change
+    private WeightedSampler<ItemStack>[] materialSamplers;
 
     public RulerContainer() {
         super(SIZE);
@@ -43,6 +49,7 @@ public class RulerContainer extends SimpleContainer {
 
     @Override
     public void setChanged() {
+        materialSamplers = null;
         if (onChange != null) {
             onChange.accept(this);
         }
@@ -64,4 +71,24 @@ public class RulerContainer extends SimpleContainer {
     public ItemStack getPageItem(int page, int pageIdx) {
         return getItem(getCategorySlotIndex(page, pageIdx) + CATEGORIES_SLOT_START);
     }
+
+    public WeightedSampler<ItemStack> getMaterialSampler(int page) {
+        if (materialSamplers == null) {
+            final WeightedSampler<ItemStack>[] samplers = new WeightedSampler[MAX_CATEGORIES];
+            final RandomList<ItemStack> list = new RandomList<>(ITEMS_PER_CATEGORY);
+            for (int p = 0; p < MAX_CATEGORIES; p++) {
+                list.clear();
+                for (int pageIndex = 0; pageIndex < ITEMS_PER_CATEGORY; pageIndex++) {
+                    ItemStack stack = getPageItem(p, pageIndex);
+                    if (stack == null || stack.isEmpty()) continue;
+                    if (!(stack.getItem() instanceof BlockItem)) continue;
+
+                    list.add(stack, stack.getCount());
+                }
+                samplers[p] = WeightedSampler.of(list);
+            }
+            materialSamplers = samplers;
+        }
+        return materialSamplers[page];
+    }
 }
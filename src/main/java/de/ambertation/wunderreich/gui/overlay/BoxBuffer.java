@@ -0,0 +1,263 @@
+package de.ambertation.wunderreich.gui.overlay;
+
+import de.ambertation.lib.math.Float2;
+import de.ambertation.lib.math.Float3;
+
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.*;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.util.FastColor;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.Arrays;
+
+//Translucent boxes (or single sides of boxes) for the overlay, stored in primitive arrays.
+//Nothing is allocated per entry, and the back to front order is computed with a bucket sort.
+@Environment(EnvType.CLIENT)
+final class BoxBuffer {
+    static final byte FULL_BOX = -1;
+    private static final int BUCKETS = 256;
+    private static final float OUTLINE_OFFSET = 0.0001f;
+
+    private int size;
+    //lx, ly, lz, hx, hy, hz in world space
+    private double[] bounds = new double[6 * 64];
+    //FULL_BOX, or axis * 2 + 1 for the positive and axis * 2 for the negative side
+    private byte[] faces = new byte[64];
+    //ARGB, an alpha of 0 disables the fill/outline
+    private int[] colors = new int[64];
+    private int[] outlineColors = new int[64];
+
+    private float[] distances = new float[64];
+    private int[] order = new int[64];
+    private final int[] bucketStart = new int[BUCKETS + 1];
+    private boolean sorted;
+    private double sortX, sortY, sortZ;
+
+    void clear() {
+        size = 0;
+        sorted = false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    //a unit cube centered on a voxel
+    void addBlock(Float3 pos, float deflate, int color, float alpha, int outlineColor, float outlineAlpha) {
+        add(
+                pos.x - 0.5 + deflate, pos.y - 0.5 + deflate, pos.z - 0.5 + deflate,
+                pos.x + 0.5 - deflate, pos.y + 0.5 - deflate, pos.z + 0.5 - deflate,
+                FULL_BOX, withAlpha(color, alpha), withAlpha(outlineColor, outlineAlpha)
+        );
+    }
+
+    //one side of a box, the bounds along the axis should be the same
+    void addFace(
+            int axis, boolean positive,
+            double lx, double ly, double lz, double hx, double hy, double hz,
+            int color, float alpha
+    ) {
+        add(lx, ly, lz, hx, hy, hz, (byte) (axis * 2 + (positive ? 1 : 0)), withAlpha(color, alpha), 0);
+    }
+
+    private void add(
+            double lx, double ly, double lz, double hx, double hy, double hz,
+            byte face, int color, int outlineColor
+    ) {
+        if (size == faces.length) grow();
+        final int b = size * 6;
+        bounds[b] = lx;
+        bounds[b + 1] = ly;
+        bounds[b + 2] = lz;
+        bounds[b + 3] = hx;
+        bounds[b + 4] = hy;
+        bounds[b + 5] = hz;
+        faces[size] = face;
+        colors[size] = color;
+        outlineColors[size] = outlineColor;
+        order[size] = size;
+        size++;
+        sorted = false;
+    }
+
+    private void grow() {
+        final int capacity = faces.length * 2;
+        bounds = Arrays.copyOf(bounds, capacity * 6);
+        faces = Arrays.copyOf(faces, capacity);
+        colors = Arrays.copyOf(colors, capacity);
+        outlineColors = Arrays.copyOf(outlineColors, capacity);
+        distances = Arrays.copyOf(distances, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
+
+    private static int withAlpha(int color, float alpha) {
+        return (((int) (alpha * 0xFF)) & 0xFF) << 24 | (color & 0x00FFFFFF);
+    }
+
+    //Orders the entries back to front. Entries with about the same distance end up in the same
+    //bucket, which is precise enough for blending. The last order is kept as long as nothing was
+    //added and the camera moved less than maxMove. Returns true if the order changed.
+    boolean sortBackToFront(Float3 camPos, double maxMove) {
+        if (sorted) {
+            final double dx = camPos.x - sortX;
+            final double dy = camPos.y - sortY;
+            final double dz = camPos.z - sortZ;
+            if (dx * dx + dy * dy + dz * dz <= maxMove * maxMove) return false;
+        }
+        sorted = true;
+        sortX = camPos.x;
+        sortY = camPos.y;
+        sortZ = camPos.z;
+        if (size == 0) return true;
+
+        float min = Float.MAX_VALUE;
+        float max = 0;
+        for (int i = 0; i < size; i++) {
+            final int b = i * 6;
+            final double dx = (bounds[b] + bounds[b + 3]) * 0.5 - camPos.x;
+            final double dy = (bounds[b + 1] + bounds[b + 4]) * 0.5 - camPos.y;
+            final double dz = (bounds[b + 2] + bounds[b + 5]) * 0.5 - camPos.z;
+            final float d = (float) Math.sqrt(dx * dx + dy * dy + dz * dz);
+            distances[i] = d;
+            if (d < min) min = d;
+            if (d > max) max = d;
+        }
+
+        //the farthest entries go into bucket 0
+        final float scale = max > min ? (BUCKETS - 1) / (max - min) : 0;
+        Arrays.fill(bucketStart, 0);
+        for (int i = 0; i < size; i++) {
+            bucketStart[(int) ((max - distances[i]) * scale) + 1]++;
+        }
+        for (int i = 1; i <= BUCKETS; i++) bucketStart[i] += bucketStart[i - 1];
+        for (int i = 0; i < size; i++) {
+            order[bucketStart[(int) ((max - distances[i]) * scale)]++] = i;
+        }
+        return true;
+    }
+
+    void emitFill(RenderContext ctx, BufferBuilder builder) {
+        final double ox = ctx.worldToCamSpace.x;
+        final double oy = ctx.worldToCamSpace.y;
+        final double oz = ctx.worldToCamSpace.z;
+        for (int k = 0; k < size; k++) {
+            final int i = order[k];
+            final int color = colors[i];
+            final int a = FastColor.ARGB32.alpha(color);
+            if (a == 0) continue;
+
+            final int b = i * 6;
+            final float lx = (float) (bounds[b] + ox);
+            final float ly = (float) (bounds[b + 1] + oy);
+            final float lz = (float) (bounds[b + 2] + oz);
+            final float hx = (float) (bounds[b + 3] + ox);
+            final float hy = (float) (bounds[b + 4] + oy);
+            final float hz = (float) (bounds[b + 5] + oz);
+            final int r = FastColor.ARGB32.red(color);
+            final int g = FastColor.ARGB32.green(color);
+            final int bl = FastColor.ARGB32.blue(color);
+
+            if (faces[i] == FULL_BOX) {
+                SolidPrimitives.renderBox(ctx, builder, lx, ly, lz, hx, hy, hz, r, g, bl, a);
+            } else {
+                SolidPrimitives.renderBoxFace(
+                        ctx, builder, faces[i] / 2, (faces[i] & 1) != 0,
+                        lx, ly, lz, hx, hy, hz, r, g, bl, a
+                );
+            }
+        }
+    }
+
+    //writes the outlines to ctx.vertexConsumer
+    void emitOutlines(RenderContext ctx) {
+        final double ox = ctx.worldToCamSpace.x;
+        final double oy = ctx.worldToCamSpace.y;
+        final double oz = ctx.worldToCamSpace.z;
+        for (int i = 0; i < size; i++) {
+            final int color = outlineColors[i];
+            final int a = FastColor.ARGB32.alpha(color);
+            if (a == 0) continue;
+
+            final int b = i * 6;
+            LinePrimitives.renderCubeOutlineCameraSpace(
+                    ctx,
+                    (float) (bounds[b] + ox) - OUTLINE_OFFSET,
+                    (float) (bounds[b + 1] + oy) - OUTLINE_OFFSET,
+                    (float) (bounds[b + 2] + oz) - OUTLINE_OFFSET,
+                    (float) (bounds[b + 3] + ox) + OUTLINE_OFFSET,
+                    (float) (bounds[b + 4] + oy) + OUTLINE_OFFSET,
+                    (float) (bounds[b + 5] + oz) + OUTLINE_OFFSET,
+                    FastColor.ARGB32.red(color),
+                    FastColor.ARGB32.green(color),
+                    FastColor.ARGB32.blue(color),
+                    a
+            );
+        }
+    }
+
+    void renderTransparent(RenderContext ctx, PreviewMesh preview, Float3 refPlanePosition) {
+        Tesselator tesselator = RenderSystem.renderThreadTesselator();
+
+        RenderSystem.enableBlend();
+        RenderSystem.disableTexture();
+        RenderSystem.setShaderColor(1, 1, 1, 1);
+        RenderSystem.blendFunc(
+                GlStateManager.SourceFactor.SRC_ALPHA,
+                GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA
+        );
+        RenderSystem.enableDepthTest();
+
+
+        //render alpha components without depth-write
+        RenderSystem.setShader(GameRenderer::getPositionColorShader);
+        RenderSystem.depthMask(false);
+        RenderSystem.colorMask(true, true, true, true);
+        preview.drawFill(ctx);
+        drawAll(ctx, tesselator);
+        drawRefPlane(ctx, tesselator, refPlanePosition);
+
+        //render to depth Buffer
+        RenderSystem.depthMask(true);
+        RenderSystem.colorMask(false, false, false, false);
+        preview.drawFill(ctx);
+        drawAll(ctx, tesselator);
+        //drawRefPlane(ctx, tesselator, refPlanePosition);
+
+        //reset rendering system
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.enableBlend();
+        RenderSystem.enableTexture();
+        RenderSystem.colorMask(true, true, true, true);
+        RenderSystem.depthMask(true);
+    }
+
+    private void drawAll(RenderContext ctx, Tesselator tesselator) {
+        if (size == 0) return;
+        BufferBuilder bufferBuilder = tesselator.getBuilder();
+        bufferBuilder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR_NORMAL);
+        emitFill(ctx, bufferBuilder);
+        BufferUploader.drawWithShader(bufferBuilder.end());
+    }
+
+    private static void drawRefPlane(RenderContext ctx, Tesselator tesselator, Float3 refPlanePosition) {
+        if (refPlanePosition != null) {
+            BufferBuilder bufferBuilder = tesselator.getBuilder();
+            bufferBuilder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR_NORMAL);
+
+            SolidPrimitives.renderQuadXZ(
+                    ctx,
+                    bufferBuilder,
+                    refPlanePosition,
+                    Float2.IDENTITY,
+                    0xFFFFFFFF,
+                    .2f
+            );
+
+            BufferUploader.drawWithShader(bufferBuilder.end());
+        }
+    }
+}
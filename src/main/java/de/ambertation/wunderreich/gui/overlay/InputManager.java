@@ -395,8 +395,13 @@ public class InputManager {
         if (ruler != null) {
             ConstructionData cd = ConstructionData.getConstructionData(ruler);
             if (cd != null) {
-                Transform newT = cd.updateActiveTransformOnClient(updater);
-                ChangedSDFMessage.INSTANCE.sendTransform(null, newT);
+                //drags are snapped to the grid the delta packets use, one-shot changes are committed right away
+                final boolean dragging = mode != Mode.NONE;
+                Transform newT = cd.updateActiveTransformOnClient(
+                        dragging ? (sdf, t) -> ChangedSDFMessage.quantize(updater.apply(sdf, t)) : updater
+                );
+                ChangedSDFMessage.INSTANCE.queueTransform(newT);
+                if (!dragging) ChangedSDFMessage.INSTANCE.commitTransform();
             }
         }
     }
@@ -478,6 +483,7 @@ public class InputManager {
         if (!accept) {
             updateTransform((sdf, t) -> startTransform);
         }
+        ChangedSDFMessage.INSTANCE.commitTransform();
         Wunderreich.LOGGER.info("endTransformMode: " + inTransformMode() + ", mode=" + mode + ", lock=" + lockFlag + ", ruler=" + ruler + ", shift=" + shiftDown);
     }
 
@@ -516,6 +522,7 @@ public class InputManager {
 //                false
 //        );
         transformMode = false;
+        ChangedSDFMessage.INSTANCE.commitTransform();
     }
 
 
@@ -187,7 +187,7 @@ public class LinePrimitives {
         );
     }
 
-    private static void renderCubeOutlineCameraSpace(
+    static void renderCubeOutlineCameraSpace(
             RenderContext ctx,
             float lx, float ly, float lz,
             float hx, float hy, float hz,
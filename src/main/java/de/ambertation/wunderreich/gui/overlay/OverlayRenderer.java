@@ -1,11 +1,9 @@
 package de.ambertation.wunderreich.gui.overlay;
 
-import de.ambertation.lib.math.Bounds;
 import de.ambertation.lib.math.Float2;
 import de.ambertation.lib.math.Float3;
 import de.ambertation.lib.math.Matrix4;
 import de.ambertation.lib.math.sdf.SDF;
-import de.ambertation.lib.math.sdf.interfaces.MaterialProvider;
 import de.ambertation.lib.math.sdf.shapes.Empty;
 import de.ambertation.lib.ui.ColorHelper;
 import de.ambertation.lib.ui.layout.components.render.RenderHelper;
@@ -22,6 +20,7 @@ import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.debug.DebugRenderer;
 import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
@@ -30,8 +29,6 @@ import net.minecraft.world.item.ItemStack;
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 
-import java.util.ArrayList;
-import java.util.List;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
@@ -78,10 +75,16 @@ public class OverlayRenderer implements DebugRenderer.SimpleDebugRenderer {
     public static final int COLOR_BLOCK_PREVIEW_OUTLINE = COLOR_DARK_MAUVE;
 
     public static final OverlayRenderer INSTANCE = new OverlayRenderer();
-    final List<BlockInfo> positions = new ArrayList<>(64);
+    final BoxBuffer positions = new BoxBuffer();
+    private final PreviewMesh preview = new PreviewMesh();
 
     float time = 0;
 
+    //frees the GPU buffers of the Ruler preview, it is built again the next time it is visible
+    public void releasePreview() {
+        preview.close();
+    }
+
     @ApiStatus.Internal
     @Override
     public void render(PoseStack poseStack, MultiBufferSource multiBufferSource, double x, double y, double z) {
@@ -89,6 +92,7 @@ public class OverlayRenderer implements DebugRenderer.SimpleDebugRenderer {
         ctx.setPoseStack(poseStack);
         final Player player = Minecraft.getInstance().player;
         positions.clear();
+        preview.setVisible(false);
         refPlanePosition = null;
 
 
@@ -152,18 +156,18 @@ public class OverlayRenderer implements DebugRenderer.SimpleDebugRenderer {
                     showTargetBlock = !widget.hasSelection();
                 }
 
-                renderSDF(ctx, sdf, sdf.getBoundingBox(), .1f, 0.8f, 1, false);
-                if (sdf.getParent() != null)
-                    renderSDF(ctx, sdf.getRoot(), sdf.getRoot().getBoundingBox(), .1f, 0.3f, 0.3f, false);
+                final Tag sdfTag = constructionData.SDF_DATA.getTag();
+                final Float3 center = constructionData.CENTER.get();
+                final int activeSlot = constructionData.ACTIVE_SLOT.get();
+                if (!preview.matches(sdfTag, center, activeSlot)) {
+                    preview.rebuild(sdfTag, center, activeSlot, sdf);
+                }
+                preview.updateOrder(ctx.camToWorldSpace);
+                preview.setVisible(true);
             }
 
-            positions.sort((a, b) -> {
-                if (Math.abs(b.camDistSquare - a.camDistSquare) < 0.001) return 0;
-                if (b.camDistSquare > a.camDistSquare) return 1;
-                return -1;
-            });
-
-            renderPositionOutlines(ctx);
+            positions.sortBackToFront(ctx.camToWorldSpace, 0);
+            positions.emitOutlines(ctx);
         } else {
             ConstructionData.setCursorPosOnClient(null);
         }
@@ -190,7 +194,7 @@ public class OverlayRenderer implements DebugRenderer.SimpleDebugRenderer {
 
     private void printDist(SDF sdf, Float3 oo) {
         oo = oo.sub(0.5);
-        Float3 oa = ConstructionData.getCursorPos().blockAligned();
+        Float3 oa = ConstructionData.getCursorPosOnClient().blockAligned();
         Float3 op = oa.add(oo);
         Float3 ot = oa.add(oo.mul(1.3).sub(0.15));
         double dist = sdf.dist(op);
@@ -201,44 +205,13 @@ public class OverlayRenderer implements DebugRenderer.SimpleDebugRenderer {
         );
     }
 
-    private void renderSDF(
-            RenderContext ctx,
-            SDF sdf,
-            Bounds box,
-            float deflate,
-            float alpha,
-            float lineAlpha,
-            boolean debugDist
-    ) {
-        sdf.evaluate(box, (p, ed) -> {
-            int mIdx = 0;
-            if (ed.source() instanceof MaterialProvider mp)
-                mIdx = mp.getMaterialIndex();
-
-            positions.add(BlockInfo.withCamPos(
-                    p,
-                    ctx.camToWorldSpace,
-                    deflate,
-                    FILL_COLORS[mIdx % FILL_COLORS.length],
-                    alpha,
-                    OUTLINE_COLORS[mIdx % OUTLINE_COLORS.length],
-                    lineAlpha
-            ));
-        }, debugDist ? (p, ed, didPlace) -> {
-            DebugRenderer.renderFloatingText(
-                    "" + (Math.round(4 * ed.dist()) / 4.0),
-                    p.x, p.y, p.z,
-                    (ed.dist() < 0 ? COLOR_FIERY_ROSE : COLOR_BLUE_JEANS)
-            );
-        } : null);
-    }
-
     @ApiStatus.Internal
     public void renderPositionBlocks(PoseStack poseStack, Camera camera) {
         if (camera.isInitialized()) {
             ctx.setPoseStack(poseStack);
             ctx.worldToCamSpace = camera.getPosition().reverse();
-            BlockInfo.renderTransparentPositions(ctx, positions, refPlanePosition);
+            preview.drawOutlines(ctx);
+            positions.renderTransparent(ctx, preview, refPlanePosition);
         }
     }
 
@@ -413,20 +386,6 @@ public class OverlayRenderer implements DebugRenderer.SimpleDebugRenderer {
         }
     }
 
-    private void renderPositionOutlines(RenderContext ctx) {
-        for (BlockInfo pos : positions) {
-            if (pos.outlineAlpha > 0) {
-                LinePrimitives.renderSingleBlock(
-                        ctx,
-                        pos.pos,
-                        pos.deflate - 0.0001f,
-                        pos.outlineColor,
-                        pos.outlineAlpha
-                );
-            }
-        }
-    }
-
     private Float3 getCursorPos(Entity cameraEntity, int reach, int emptyDist) {
         return Float3.of(cameraEntity.getEyePosition()
                                      .add(cameraEntity.getViewVector(1.0F).scale(emptyDist)));
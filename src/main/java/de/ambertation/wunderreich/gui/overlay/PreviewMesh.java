@@ -0,0 +1,186 @@
+package de.ambertation.wunderreich.gui.overlay;
+
+import de.ambertation.lib.math.Float3;
+import de.ambertation.lib.math.sdf.SDF;
+import de.ambertation.wunderreich.items.construction.SDFVoxelizer;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.*;
+import com.mojang.math.Matrix4f;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.ShaderInstance;
+import net.minecraft.nbt.Tag;
+import net.minecraft.world.phys.Vec3;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+//Keeps the voxels of the Ruler preview in VertexBuffers on the GPU. The SDF is only evaluated
+//and uploaded again, when its NBT data, the center or the active slot changed.
+@Environment(EnvType.CLIENT)
+class PreviewMesh {
+    private static final double RESORT_DISTANCE = 1;
+    private Tag sdfTag;
+    private Float3 center;
+    private int activeSlot;
+
+    private VertexBuffer fillBuffer;
+    private VertexBuffer lineBuffer;
+    //vertices are stored relative to this position to keep the float precision
+    private Float3 origin = Float3.ZERO;
+    private int voxelCount;
+    private boolean visible;
+
+    private final BoxBuffer fills = new BoxBuffer();
+    private final BoxBuffer outlines = new BoxBuffer();
+    private final RenderContext meshCtx = new RenderContext();
+
+    PreviewMesh() {
+        meshCtx.setPoseStack(new PoseStack());
+    }
+
+    boolean matches(Tag sdfTag, Float3 center, int activeSlot) {
+        return this.activeSlot == activeSlot
+                && Objects.equals(this.center, center)
+                && Objects.equals(this.sdfTag, sdfTag);
+    }
+
+    void rebuild(Tag sdfTag, Float3 center, int activeSlot, SDF sdf) {
+        this.sdfTag = sdfTag == null ? null : sdfTag.copy();
+        this.center = center;
+        this.activeSlot = activeSlot;
+        fills.clear();
+        outlines.clear();
+
+        final List<Layer> layers = new ArrayList<>(2);
+        layers.add(new Layer(SDFVoxelizer.voxelize(sdf), .1f, 0.8f, 1));
+        if (sdf.getParent() != null)
+            layers.add(new Layer(SDFVoxelizer.voxelize(sdf.getRoot()), .1f, 0.3f, 0.3f));
+
+        voxelCount = 0;
+        for (Layer layer : layers) voxelCount += layer.voxels.size();
+        if (voxelCount == 0) return;
+
+        final Float3 c = sdf.getRoot().getBoundingBox().getCenter();
+        origin = Float3.of(Math.floor(c.x), Math.floor(c.y), Math.floor(c.z));
+        meshCtx.worldToCamSpace = new Vec3(-origin.x, -origin.y, -origin.z);
+
+        //interior voxels are skipped and the surface is rendered as merged quads
+        for (Layer layer : layers) {
+            final VoxelShell shell = new VoxelShell(layer.voxels, OverlayRenderer.FILL_COLORS.length);
+            shell.addQuads(fills, OverlayRenderer.FILL_COLORS, layer.alpha, layer.deflate);
+            layer.addOutlines(outlines, shell);
+        }
+
+        //the outlines do not need to be sorted, so they are uploaded only once
+        final BufferBuilder builder = RenderSystem.renderThreadTesselator().getBuilder();
+        builder.begin(VertexFormat.Mode.LINES, DefaultVertexFormat.POSITION_COLOR_NORMAL);
+        meshCtx.vertexConsumer = builder;
+        fills.emitOutlines(meshCtx);
+        outlines.emitOutlines(meshCtx);
+        meshCtx.vertexConsumer = null;
+        if (lineBuffer == null) lineBuffer = new VertexBuffer();
+        upload(lineBuffer, builder.end());
+    }
+
+    //Sorts the translucent faces for the current camera position. The uploaded buffer is reused until
+    //the camera moved more than RESORT_DISTANCE away from the position we sorted for.
+    void updateOrder(Float3 camPos) {
+        if (voxelCount == 0 || !fills.sortBackToFront(camPos, RESORT_DISTANCE)) return;
+
+        final BufferBuilder builder = RenderSystem.renderThreadTesselator().getBuilder();
+        builder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_COLOR_NORMAL);
+        fills.emitFill(meshCtx, builder);
+        if (fillBuffer == null) fillBuffer = new VertexBuffer();
+        upload(fillBuffer, builder.end());
+    }
+
+    private record Layer(SDFVoxelizer.Result voxels, float deflate, float alpha, float lineAlpha) {
+        //adds the outlines of the voxels on the surface
+        void addOutlines(BoxBuffer out, VoxelShell shell) {
+            for (int i = 0; i < voxels.size(); i++) {
+                if (!shell.isShell(i)) continue;
+                final int mIdx = voxels.getMaterial(i);
+                out.addBlock(
+                        voxels.getPoint(i),
+                        deflate,
+                        OverlayRenderer.FILL_COLORS[mIdx % OverlayRenderer.FILL_COLORS.length],
+                        0,
+                        OverlayRenderer.OUTLINE_COLORS[mIdx % OverlayRenderer.OUTLINE_COLORS.length],
+                        lineAlpha
+                );
+            }
+        }
+    }
+
+    private static void upload(VertexBuffer buffer, BufferBuilder.RenderedBuffer renderedBuffer) {
+        buffer.bind();
+        buffer.upload(renderedBuffer);
+        VertexBuffer.unbind();
+    }
+
+    void setVisible(boolean visible) {
+        this.visible = visible;
+    }
+
+    boolean hasContent() {
+        return visible && voxelCount > 0 && fillBuffer != null;
+    }
+
+    //draws the translucent cubes with the shader and state the caller set up
+    void drawFill(RenderContext ctx) {
+        if (!hasContent()) return;
+        draw(ctx, fillBuffer, RenderSystem.getShader());
+    }
+
+    void drawOutlines(RenderContext ctx) {
+        if (!hasContent() || lineBuffer == null) return;
+
+        //same state as RenderType.lines()
+        RenderSystem.setShader(GameRenderer::getRendertypeLinesShader);
+        RenderSystem.lineWidth(Math.max(2.5f, Minecraft.getInstance().getWindow().getWidth() / 1920.0f * 2.5f));
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.enableDepthTest();
+        RenderSystem.disableCull();
+
+        draw(ctx, lineBuffer, RenderSystem.getShader());
+
+        RenderSystem.enableCull();
+        RenderSystem.lineWidth(1);
+    }
+
+    private void draw(RenderContext ctx, VertexBuffer buffer, ShaderInstance shader) {
+        final PoseStack poseStack = ctx.poseStack();
+        poseStack.pushPose();
+        poseStack.translate(
+                origin.x + ctx.worldToCamSpace.x,
+                origin.y + ctx.worldToCamSpace.y,
+                origin.z + ctx.worldToCamSpace.z
+        );
+        final Matrix4f modelView = RenderSystem.getModelViewMatrix().copy();
+        modelView.multiply(poseStack.last().pose());
+        poseStack.popPose();
+
+        buffer.bind();
+        buffer.drawWithShader(modelView, RenderSystem.getProjectionMatrix(), shader);
+        VertexBuffer.unbind();
+    }
+
+    void close() {
+        if (fillBuffer != null) fillBuffer.close();
+        if (lineBuffer != null) lineBuffer.close();
+        fillBuffer = null;
+        lineBuffer = null;
+        sdfTag = null;
+        center = null;
+        voxelCount = 0;
+        fills.clear();
+        outlines.clear();
+    }
+}
@@ -9,22 +9,6 @@ import com.mojang.math.Matrix4f;
 import net.minecraft.util.FastColor;
 
 public class SolidPrimitives {
-    public static void renderSingleBlock(
-            RenderContext ctx, BufferBuilder builder,
-            BlockInfo nfo
-    ) {
-        renderSingleBlock(
-                ctx,
-                builder,
-                nfo.pos,
-                nfo.deflate,
-                FastColor.ARGB32.red(nfo.color),
-                FastColor.ARGB32.green(nfo.color),
-                FastColor.ARGB32.blue(nfo.color),
-                (int) (nfo.alpha * 0xFF)
-        );
-    }
-
     public static void renderSingleBlock(
             RenderContext ctx, BufferBuilder builder,
             Float3 pos, float deflate, int color, float alpha
@@ -39,8 +23,6 @@ public class SolidPrimitives {
             RenderContext ctx, BufferBuilder builder,
             Float3 pos, float deflate, int r, int g, int b, int a
     ) {
-        Matrix4f m = ctx.pose();
-        Matrix3f rotation = ctx.normal();
         float lx = (float) (pos.x + ctx.worldToCamSpace.x) - 0.5f;
         float ly = (float) (pos.y + ctx.worldToCamSpace.y) - 0.5f;
         float lz = (float) (pos.z + ctx.worldToCamSpace.z) - 0.5f;
@@ -50,35 +32,62 @@ public class SolidPrimitives {
         lx += deflate;
         ly += deflate;
         lz += deflate;
-        builder.vertex(m, lx, ly, lz).color(r, g, b, a).normal(rotation, 0, 0, -1).endVertex();
-        builder.vertex(m, lx, hy, lz).color(r, g, b, a).normal(rotation, 0, 0, -1).endVertex();
-        builder.vertex(m, hx, hy, lz).color(r, g, b, a).normal(rotation, 0, 0, -1).endVertex();
-        builder.vertex(m, hx, ly, lz).color(r, g, b, a).normal(rotation, 0, 0, -1).endVertex();
-
-        builder.vertex(m, lx, ly, hz).color(r, g, b, a).normal(rotation, 0, 0, 1).endVertex();
-        builder.vertex(m, hx, ly, hz).color(r, g, b, a).normal(rotation, 0, 0, 1).endVertex();
-        builder.vertex(m, hx, hy, hz).color(r, g, b, a).normal(rotation, 0, 0, 1).endVertex();
-        builder.vertex(m, lx, hy, hz).color(r, g, b, a).normal(rotation, 0, 0, 1).endVertex();
-
-        builder.vertex(m, lx, ly, hz).color(r, g, b, a).normal(rotation, 0, -1, 0).endVertex();
-        builder.vertex(m, lx, ly, lz).color(r, g, b, a).normal(rotation, 0, -1, 0).endVertex();
-        builder.vertex(m, hx, ly, lz).color(r, g, b, a).normal(rotation, 0, -1, 0).endVertex();
-        builder.vertex(m, hx, ly, hz).color(r, g, b, a).normal(rotation, 0, -1, 0).endVertex();
-
-        builder.vertex(m, lx, hy, hz).color(r, g, b, a).normal(rotation, 0, 1, 0).endVertex();
-        builder.vertex(m, hx, hy, hz).color(r, g, b, a).normal(rotation, 0, 1, 0).endVertex();
-        builder.vertex(m, hx, hy, lz).color(r, g, b, a).normal(rotation, 0, 1, 0).endVertex();
-        builder.vertex(m, lx, hy, lz).color(r, g, b, a).normal(rotation, 0, 1, 0).endVertex();
+        renderBox(ctx, builder, lx, ly, lz, hx, hy, hz, r, g, b, a);
+    }
 
-        builder.vertex(m, lx, ly, hz).color(r, g, b, a).normal(rotation, -1, 0, 0).endVertex();
-        builder.vertex(m, lx, hy, hz).color(r, g, b, a).normal(rotation, -1, 0, 0).endVertex();
-        builder.vertex(m, lx, hy, lz).color(r, g, b, a).normal(rotation, -1, 0, 0).endVertex();
-        builder.vertex(m, lx, ly, lz).color(r, g, b, a).normal(rotation, -1, 0, 0).endVertex();
+    //renders an axis aligned box in camera space
+    public static void renderBox(
+            RenderContext ctx, BufferBuilder builder,
+            float lx, float ly, float lz, float hx, float hy, float hz,
+            int r, int g, int b, int a
+    ) {
+        for (int axis = 2; axis >= 0; axis--) {
+            renderBoxFace(ctx, builder, axis, false, lx, ly, lz, hx, hy, hz, r, g, b, a);
+            renderBoxFace(ctx, builder, axis, true, lx, ly, lz, hx, hy, hz, r, g, b, a);
+        }
+    }
 
-        builder.vertex(m, hx, ly, hz).color(r, g, b, a).normal(rotation, 1, 0, 0).endVertex();
-        builder.vertex(m, hx, ly, lz).color(r, g, b, a).normal(rotation, 1, 0, 0).endVertex();
-        builder.vertex(m, hx, hy, lz).color(r, g, b, a).normal(rotation, 1, 0, 0).endVertex();
-        builder.vertex(m, hx, hy, hz).color(r, g, b, a).normal(rotation, 1, 0, 0).endVertex();
+    //renders one side of an axis aligned box in camera space.
+    //axis is 0 for x, 1 for y and 2 for z
+    public static void renderBoxFace(
+            RenderContext ctx, BufferBuilder builder,
+            int axis, boolean positive,
+            float lx, float ly, float lz, float hx, float hy, float hz,
+            int r, int g, int b, int a
+    ) {
+        Matrix4f m = ctx.pose();
+        Matrix3f rotation = ctx.normal();
+        if (axis == 2 && !positive) {
+            builder.vertex(m, lx, ly, lz).color(r, g, b, a).normal(rotation, 0, 0, -1).endVertex();
+            builder.vertex(m, lx, hy, lz).color(r, g, b, a).normal(rotation, 0, 0, -1).endVertex();
+            builder.vertex(m, hx, hy, lz).color(r, g, b, a).normal(rotation, 0, 0, -1).endVertex();
+            builder.vertex(m, hx, ly, lz).color(r, g, b, a).normal(rotation, 0, 0, -1).endVertex();
+        } else if (axis == 2) {
+            builder.vertex(m, lx, ly, hz).color(r, g, b, a).normal(rotation, 0, 0, 1).endVertex();
+            builder.vertex(m, hx, ly, hz).color(r, g, b, a).normal(rotation, 0, 0, 1).endVertex();
+            builder.vertex(m, hx, hy, hz).color(r, g, b, a).normal(rotation, 0, 0, 1).endVertex();
+            builder.vertex(m, lx, hy, hz).color(r, g, b, a).normal(rotation, 0, 0, 1).endVertex();
+        } else if (axis == 1 && !positive) {
+            builder.vertex(m, lx, ly, hz).color(r, g, b, a).normal(rotation, 0, -1, 0).endVertex();
+            builder.vertex(m, lx, ly, lz).color(r, g, b, a).normal(rotation, 0, -1, 0).endVertex();
+            builder.vertex(m, hx, ly, lz).color(r, g, b, a).normal(rotation, 0, -1, 0).endVertex();
+            builder.vertex(m, hx, ly, hz).color(r, g, b, a).normal(rotation, 0, -1, 0).endVertex();
+        } else if (axis == 1) {
+            builder.vertex(m, lx, hy, hz).color(r, g, b, a).normal(rotation, 0, 1, 0).endVertex();
+            builder.vertex(m, hx, hy, hz).color(r, g, b, a).normal(rotation, 0, 1, 0).endVertex();
+            builder.vertex(m, hx, hy, lz).color(r, g, b, a).normal(rotation, 0, 1, 0).endVertex();
+            builder.vertex(m, lx, hy, lz).color(r, g, b, a).normal(rotation, 0, 1, 0).endVertex();
+        } else if (!positive) {
+            builder.vertex(m, lx, ly, hz).color(r, g, b, a).normal(rotation, -1, 0, 0).endVertex();
+            builder.vertex(m, lx, hy, hz).color(r, g, b, a).normal(rotation, -1, 0, 0).endVertex();
+            builder.vertex(m, lx, hy, lz).color(r, g, b, a).normal(rotation, -1, 0, 0).endVertex();
+            builder.vertex(m, lx, ly, lz).color(r, g, b, a).normal(rotation, -1, 0, 0).endVertex();
+        } else {
+            builder.vertex(m, hx, ly, hz).color(r, g, b, a).normal(rotation, 1, 0, 0).endVertex();
+            builder.vertex(m, hx, ly, lz).color(r, g, b, a).normal(rotation, 1, 0, 0).endVertex();
+            builder.vertex(m, hx, hy, lz).color(r, g, b, a).normal(rotation, 1, 0, 0).endVertex();
+            builder.vertex(m, hx, hy, hz).color(r, g, b, a).normal(rotation, 1, 0, 0).endVertex();
+        }
     }
 
     //-------------------------------------- 2D Shapes --------------------------------------
@@ -66,15 +66,15 @@ public class TransformWidget {
                     corners[selectedCorner.opposite().idx],
                     ColorHelper.WHITE
             );
-            OverlayRenderer.INSTANCE.positions.add(BlockInfo.withCamPos(
-                    corner, ctx.camToWorldSpace, 0.1f,
+            OverlayRenderer.INSTANCE.positions.addBlock(
+                    corner, 0.1f,
                     ColorHelper.blendColors(
                             phase,
                             OverlayRenderer.COLOR_FIERY_ROSE,
                             OverlayRenderer.COLOR_SELECTION
                     ), 0.8f,
                     OverlayRenderer.COLOR_FIERY_ROSE, phase
-            ));
+            );
             LinePrimitives.renderSingleBlock(ctx, corner, -0.05f, OverlayRenderer.COLOR_FIERY_ROSE, 1);
             TextRenderer.render(corner, OverlayRenderer.COLOR_FIERY_ROSE);
         } else {
@@ -82,23 +82,23 @@ public class TransformWidget {
             for (int idx = 0; idx < corners.length; idx++) {
                 corner = corners[idx];
                 if (hoveredCorner != null && hoveredCorner.idx == idx) {
-                    OverlayRenderer.INSTANCE.positions.add(BlockInfo.withCamPos(
-                            corner, ctx.camToWorldSpace, 0.1f,
+                    OverlayRenderer.INSTANCE.positions.addBlock(
+                            corner, 0.1f,
                             OverlayRenderer.COLOR_FIERY_ROSE, 0.5f,
                             OverlayRenderer.COLOR_FIERY_ROSE, 0.8f
-                    ));
+                    );
                     LinePrimitives.renderSingleBlock(ctx, corner, 0.1f, OverlayRenderer.COLOR_FIERY_ROSE, 1);
                     TextRenderer.render(corner, OverlayRenderer.COLOR_FIERY_ROSE);
                 } else {
-                    OverlayRenderer.INSTANCE.positions.add(BlockInfo.withCamPos(
-                            corner, ctx.camToWorldSpace, 0.1f,
+                    OverlayRenderer.INSTANCE.positions.addBlock(
+                            corner, 0.1f,
                             ColorHelper.blendColors(
                                     phase,
                                     OverlayRenderer.COLOR_BOUNDING_BOX,
                                     OverlayRenderer.COLOR_SELECTION
                             ), 0.8f,
                             OverlayRenderer.COLOR_SELECTION, phase
-                    ));
+                    );
                     LinePrimitives.renderSingleBlock(ctx,
                             corner, 0.1f,
                             ColorHelper.blendColors(
@@ -0,0 +1,163 @@
+package de.ambertation.wunderreich.gui.overlay;
+
+import de.ambertation.lib.math.Float3;
+import de.ambertation.wunderreich.items.construction.SDFVoxelizer;
+
+import net.fabricmc.api.EnvType;
+import net.fabricmc.api.Environment;
+
+//The surface of a set of voxels. Only faces between a voxel and an empty neighbour are emitted,
+//and coplanar faces with the same color are merged into larger quads (greedy meshing).
+@Environment(EnvType.CLIENT)
+class VoxelShell {
+    private static final int[] NEIGHBOURS = {-1, 1};
+    private final SDFVoxelizer.Result voxels;
+    private final Float3 base;
+    //size of the grid along x, y and z
+    private final int[] dim = new int[3];
+    //palette index + 1 for every cell of the grid, 0 if the cell is empty
+    private final byte[] cells;
+    private final int[] cellOfVoxel;
+
+    VoxelShell(SDFVoxelizer.Result voxels, int paletteSize) {
+        this.voxels = voxels;
+        this.cellOfVoxel = new int[voxels.size()];
+        if (voxels.size() == 0) {
+            base = Float3.ZERO;
+            cells = new byte[0];
+            return;
+        }
+
+        //all samples of one evaluation lie on the same lattice, we use the first one as reference
+        final Float3 first = voxels.getPoint(0);
+        final int[] min = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE};
+        final int[] max = {Integer.MIN_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+        final int[] lattice = new int[voxels.size() * 3];
+        for (int i = 0; i < voxels.size(); i++) {
+            final Float3 p = voxels.getPoint(i);
+            lattice[i * 3] = (int) Math.round(p.x - first.x);
+            lattice[i * 3 + 1] = (int) Math.round(p.y - first.y);
+            lattice[i * 3 + 2] = (int) Math.round(p.z - first.z);
+            for (int a = 0; a < 3; a++) {
+                min[a] = Math.min(min[a], lattice[i * 3 + a]);
+                max[a] = Math.max(max[a], lattice[i * 3 + a]);
+            }
+        }
+
+        for (int a = 0; a < 3; a++) dim[a] = max[a] - min[a] + 1;
+        base = Float3.of(first.x + min[0], first.y + min[1], first.z + min[2]);
+        cells = new byte[dim[0] * dim[1] * dim[2]];
+
+        for (int i = 0; i < voxels.size(); i++) {
+            final int cell = index(
+                    lattice[i * 3] - min[0],
+                    lattice[i * 3 + 1] - min[1],
+                    lattice[i * 3 + 2] - min[2]
+            );
+            cellOfVoxel[i] = cell;
+            cells[cell] = (byte) (voxels.getMaterial(i) % paletteSize + 1);
+        }
+    }
+
+    private int index(int x, int y, int z) {
+        return x + dim[0] * (y + dim[1] * z);
+    }
+
+    private byte cell(int x, int y, int z) {
+        if (x < 0 || y < 0 || z < 0 || x >= dim[0] || y >= dim[1] || z >= dim[2]) return 0;
+        return cells[index(x, y, z)];
+    }
+
+    private byte cell(int axis, int k, int u, int v) {
+        return switch (axis) {
+            case 0 -> cell(k, u, v);
+            case 1 -> cell(v, k, u);
+            default -> cell(u, v, k);
+        };
+    }
+
+    //true if the voxel has at least one empty neighbour
+    boolean isShell(int voxel) {
+        final int cell = cellOfVoxel[voxel];
+        final int x = cell % dim[0];
+        final int y = (cell / dim[0]) % dim[1];
+        final int z = cell / (dim[0] * dim[1]);
+        return cell(x - 1, y, z) == 0 || cell(x + 1, y, z) == 0
+                || cell(x, y - 1, z) == 0 || cell(x, y + 1, z) == 0
+                || cell(x, y, z - 1) == 0 || cell(x, y, z + 1) == 0;
+    }
+
+    //adds the merged surface quads, returns the number of quads
+    int addQuads(BoxBuffer out, int[] palette, float alpha, float deflate) {
+        if (voxels.size() == 0) return 0;
+
+        final float[] lo = new float[3];
+        final float[] hi = new float[3];
+        int quads = 0;
+
+        for (int axis = 0; axis < 3; axis++) {
+            //u and v span the plane of the faces, in the same order cell(axis, k, u, v) uses
+            final int uAxis = (axis + 1) % 3;
+            final int vAxis = (axis + 2) % 3;
+            final int du = dim[uAxis];
+            final int dv = dim[vAxis];
+            final byte[] mask = new byte[du * dv];
+
+            for (int k = 0; k < dim[axis]; k++) {
+                for (int side : NEIGHBOURS) {
+                    for (int v = 0; v < dv; v++) {
+                        for (int u = 0; u < du; u++) {
+                            final byte c = cell(axis, k, u, v);
+                            mask[u + v * du] = (c != 0 && cell(axis, k + side, u, v) == 0) ? c : 0;
+                        }
+                    }
+
+                    for (int v = 0; v < dv; v++) {
+                        for (int u = 0; u < du; ) {
+                            final byte c = mask[u + v * du];
+                            if (c == 0) {
+                                u++;
+                                continue;
+                            }
+
+                            int w = 1;
+                            while (u + w < du && mask[u + w + v * du] == c) w++;
+
+                            int h = 1;
+                            grow:
+                            while (v + h < dv) {
+                                for (int x = 0; x < w; x++) {
+                                    if (mask[u + x + (v + h) * du] != c) break grow;
+                                }
+                                h++;
+                            }
+
+                            for (int y = 0; y < h; y++) {
+                                for (int x = 0; x < w; x++) mask[u + x + (v + y) * du] = 0;
+                            }
+
+                            //the voxel centers are on the lattice, so a cell spans -0.5..0.5 around it
+                            final float plane = side > 0 ? k + 0.5f - deflate : k - 0.5f + deflate;
+                            lo[axis] = plane;
+                            hi[axis] = plane;
+                            lo[uAxis] = u - 0.5f + deflate;
+                            hi[uAxis] = u + w - 0.5f - deflate;
+                            lo[vAxis] = v - 0.5f + deflate;
+                            hi[vAxis] = v + h - 0.5f - deflate;
+
+                            out.addFace(
+                                    axis, side > 0,
+                                    lo[0] + base.x, lo[1] + base.y, lo[2] + base.z,
+                                    hi[0] + base.x, hi[1] + base.y, hi[2] + base.z,
+                                    palette[c - 1], alpha
+                            );
+                            quads++;
+                            u += w;
+                        }
+                    }
+                }
+            }
+        }
+        return quads;
+    }
+}
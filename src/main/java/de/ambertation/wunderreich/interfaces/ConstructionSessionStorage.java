@@ -0,0 +1,7 @@
+package de.ambertation.wunderreich.interfaces;
+
+import de.ambertation.wunderreich.items.construction.ConstructionSession;
+
+public interface ConstructionSessionStorage {
+    ConstructionSession getConstructionSession();
+}
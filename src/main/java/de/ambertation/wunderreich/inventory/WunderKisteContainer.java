@@ -12,8 +12,11 @@ import net.minecraft.nbt.Tag;
 import net.minecraft.world.SimpleContainer;
 import net.minecraft.world.WorldlyContainer;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.inventory.AbstractContainerMenu;
 import net.minecraft.world.item.ItemStack;
 
+import java.util.Arrays;
+import java.util.BitSet;
 import org.jetbrains.annotations.Nullable;
 
 public class WunderKisteContainer extends SimpleContainer implements WorldlyContainer {
@@ -22,9 +25,22 @@ public class WunderKisteContainer extends SimpleContainer implements WorldlyCont
     };
     public final WunderKisteDomain.ID domain;
 
+    //serialized slot compounds as they are stored in the domain tag (null for empty slots)
+    private final CompoundTag[] slotTags;
+    //copies of the stacks that were serialized last, used to detect stacks that were modified in place
+    private final ItemStack[] savedStacks;
+    private final BitSet dirtySlots;
+    private boolean needsVerify;
+    //the comparator output, -1 if the content changed since it was computed
+    private int analogSignal = -1;
+
     public WunderKisteContainer(WunderKisteDomain.ID domain) {
         super(slots.length);
         this.domain = domain;
+        this.slotTags = new CompoundTag[slots.length];
+        this.savedStacks = new ItemStack[slots.length];
+        this.dirtySlots = new BitSet(slots.length);
+        Arrays.fill(savedStacks, ItemStack.EMPTY);
     }
 
     public void load() {
@@ -40,42 +56,119 @@ public class WunderKisteContainer extends SimpleContainer implements WorldlyCont
     }
 
     public void save() {
+        if (!updateSlotTags()) return;
+
         CompoundTag global = LevelData.getInstance().getWunderkisteInventory(domain);
-        global.put("items", createTag());
+        global.put("items", buildListTag());
         LevelData.getInstance().saveWunderkisteInventory(domain);
     }
 
+    @Override
+    public void setItem(int i, ItemStack itemStack) {
+        dirtySlots.set(i);
+        analogSignal = -1;
+        super.setItem(i, itemStack);
+    }
+
+    @Override
+    public ItemStack removeItem(int i, int j) {
+        dirtySlots.set(i);
+        analogSignal = -1;
+        return super.removeItem(i, j);
+    }
+
+    @Override
+    public ItemStack removeItemNoUpdate(int i) {
+        dirtySlots.set(i);
+        analogSignal = -1;
+        return super.removeItemNoUpdate(i);
+    }
+
+    @Override
+    public void setChanged() {
+        //menus and hoppers may change a stack in place and only call setChanged
+        needsVerify = true;
+        analogSignal = -1;
+        super.setChanged();
+    }
+
+    //The signal a comparator reads from this container. Every box of the domain shares it, so it is
+    //only computed once after each change
+    public int getAnalogSignal() {
+        if (analogSignal < 0) analogSignal = AbstractContainerMenu.getRedstoneSignalFromContainer(this);
+        return analogSignal;
+    }
+
+    //Re-serializes the changed slots. Returns false if no slot changed since the last save
+    private boolean updateSlotTags() {
+        if (needsVerify) {
+            for (int i = 0; i < this.getContainerSize(); ++i) {
+                if (!dirtySlots.get(i) && !ItemStack.matches(this.getItem(i), savedStacks[i])) {
+                    dirtySlots.set(i);
+                }
+            }
+            needsVerify = false;
+        }
+
+        boolean changed = false;
+        for (int i = dirtySlots.nextSetBit(0); i >= 0; i = dirtySlots.nextSetBit(i + 1)) {
+            ItemStack itemStack = this.getItem(i);
+            if (ItemStack.matches(itemStack, savedStacks[i])) continue;
+
+            changed = true;
+            if (itemStack.isEmpty()) {
+                slotTags[i] = null;
+                savedStacks[i] = ItemStack.EMPTY;
+            } else {
+                CompoundTag compoundTag = new CompoundTag();
+                compoundTag.putByte("Slot", (byte) i);
+                itemStack.save(compoundTag);
+                slotTags[i] = compoundTag;
+                savedStacks[i] = itemStack.copy();
+            }
+        }
+        dirtySlots.clear();
+        return changed;
+    }
+
+    private ListTag buildListTag() {
+        ListTag listTag = new ListTag();
+        for (CompoundTag compoundTag : slotTags) {
+            if (compoundTag != null) listTag.add(compoundTag);
+        }
+        return listTag;
+    }
+
     public void fromTag(ListTag listTag) {
         int j;
         for (j = 0; j < this.getContainerSize(); ++j) {
-            this.setItem(j, ItemStack.EMPTY);
+            super.setItem(j, ItemStack.EMPTY);
+            slotTags[j] = null;
+            savedStacks[j] = ItemStack.EMPTY;
         }
 
         for (j = 0; j < listTag.size(); ++j) {
             CompoundTag compoundTag = listTag.getCompound(j);
             int k = compoundTag.getByte("Slot") & 255;
             if (k < this.getContainerSize()) {
-                this.setItem(k, ItemStack.of(compoundTag));
+                ItemStack itemStack = ItemStack.of(compoundTag);
+                super.setItem(k, itemStack);
+                if (!itemStack.isEmpty()) {
+                    slotTags[k] = compoundTag;
+                    savedStacks[k] = itemStack.copy();
+                }
             }
         }
 
+        //the loaded state is exactly what is stored in the domain tag
+        dirtySlots.clear();
+        needsVerify = false;
+        analogSignal = -1;
     }
 
     public ListTag createTag() {
-        //TODO: use NbtTagHelper.writeContainer
-        ListTag listTag = new ListTag();
-
-        for (int i = 0; i < this.getContainerSize(); ++i) {
-            ItemStack itemStack = this.getItem(i);
-            if (!itemStack.isEmpty()) {
-                CompoundTag compoundTag = new CompoundTag();
-                compoundTag.putByte("Slot", (byte) i);
-                itemStack.save(compoundTag);
-                listTag.add(compoundTag);
-            }
-        }
-
-        return listTag;
+        updateSlotTags();
+        return buildListTag();
     }
 
     public boolean stillValid(Player player) {
@@ -5,6 +5,7 @@ import de.ambertation.wunderreich.registries.WunderreichAdvancements;
 import de.ambertation.wunderreich.registries.WunderreichItems;
 import de.ambertation.wunderreich.registries.WunderreichTags;
 import de.ambertation.wunderreich.utils.RandomList;
+import de.ambertation.wunderreich.utils.WeightedSampler;
 
 import net.minecraft.core.BlockPos;
 import net.minecraft.server.level.ServerPlayer;
@@ -15,8 +16,6 @@ import net.minecraft.world.item.context.BlockPlaceContext;
 import net.minecraft.world.item.context.UseOnContext;
 import net.minecraft.world.phys.BlockHitResult;
 
-import java.util.function.Supplier;
-
 public class BuildersTrowel extends DiggerItem {
     private final long seed;
 
@@ -63,17 +62,18 @@ public class BuildersTrowel extends DiggerItem {
         InteractionResult result;
         int maxTries = 100;
         final BlockPos cPos = ctx.getClickedPos().relative(ctx.getClickedFace(), 1);
-        final Supplier<Float> noise;
-        if (getTier() == Tiers.DIAMOND) noise = () -> (1 + OpenSimplex2.noise3_ImproveXZ(
+        final WeightedSampler<ItemStack> sampler = WeightedSampler.of(list);
+        //the diamond trowel picks by position, so neighbouring blocks form patches of the same material
+        final boolean useNoise = getTier() == Tiers.DIAMOND;
+        final float noise = useNoise ? (1 + OpenSimplex2.noise3_ImproveXZ(
                 seed,
                 cPos.getX() * 0.15,
                 cPos.getY() * 0.2,
                 cPos.getZ() * 0.15
-        )) / 2;
-        else noise = RandomList::random;
+        )) / 2 : 0;
 
         do {
-            item = list.getRandom(noise);
+            item = sampler.get(useNoise ? noise : RandomList.random());
             if (item != null) {
                 result = getInteractionResult(ctx, p, item);
                 maxTries--;
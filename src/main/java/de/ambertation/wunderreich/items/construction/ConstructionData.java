@@ -5,25 +5,29 @@ import de.ambertation.lib.math.Float3;
 import de.ambertation.lib.math.Matrix4;
 import de.ambertation.lib.math.Transform;
 import de.ambertation.lib.math.sdf.SDF;
-import de.ambertation.lib.math.sdf.interfaces.MaterialProvider;
 import de.ambertation.lib.math.sdf.interfaces.Transformable;
 import de.ambertation.wunderreich.gui.construction.RulerContainer;
 import de.ambertation.wunderreich.gui.overlay.TransformWidget;
 import de.ambertation.wunderreich.network.ChangedTargetBlockMessage;
 import de.ambertation.wunderreich.noise.OpenSimplex2;
-import de.ambertation.wunderreich.utils.RandomList;
+import de.ambertation.wunderreich.utils.WeightedSampler;
 import de.ambertation.wunderreich.utils.nbt.CachedNBTValue;
 import de.ambertation.wunderreich.utils.nbt.NbtTagHelper;
 
 import net.minecraft.nbt.*;
 import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.item.BlockItem;
 import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.block.state.BlockState;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 
 import java.util.Objects;
 import java.util.function.BiFunction;
-import java.util.function.Function;
 import org.jetbrains.annotations.ApiStatus;
 
 public class ConstructionData {
@@ -43,8 +47,18 @@ public class ConstructionData {
     public final CachedNBTValue<Integer, IntTag> ACTIVE_SLOT;
 
     public final CachedNBTValue<RulerContainer, ListTag> MATERIAL_DATA;
+    private final CompoundTag baseTag;
+    //decoded data of the tags we have seen recently. The keys are compared by identity, so every item
+    //gets its own entry, and a ConstructionData is dropped once its tag is gone or memory runs low
+    private static final Cache<CompoundTag, ConstructionData> CACHE = CacheBuilder
+            .newBuilder()
+            .weakKeys()
+            .softValues()
+            .maximumSize(256)
+            .build();
+    //the cursor of the local player, the server keeps one per player in the ConstructionSession
     @ApiStatus.Internal
-    private static Float3 lastTarget;
+    private static Float3 clientCursor;
 
 
     public ConstructionData(CompoundTag baseTag) {
@@ -87,7 +101,12 @@ public class ConstructionData {
                 this::changedActiveSlot
         );
 
+        this.baseTag = baseTag;
         updateActiveTransformWidget();
+        attachWidgetState();
+    }
+
+    private void attachWidgetState() {
         if (getActiveTransformWidget() != null) {
             if (!baseTag.contains(TRANSFORM_STATE_TAG, Tag.TAG_COMPOUND)) {
                 baseTag.put(TRANSFORM_STATE_TAG, new CompoundTag());
@@ -117,33 +136,28 @@ public class ConstructionData {
         } else activeTransformWidget = null;
     }
 
-    public static Float3 getCursorPos() {
-        return lastTarget;
+    public static Float3 getCursorPos(Player player) {
+        if (player instanceof ServerPlayer) return ConstructionSession.of(player).getCursor();
+        return clientCursor;
     }
 
-    public static void setCursorPosOnClient(Float3 newTarget) {
-        if (setCursorPosCommon(newTarget)) {
-            ChangedTargetBlockMessage.INSTANCE.send(newTarget);
-        }
+    public static Float3 getCursorPosOnClient() {
+        return clientCursor;
     }
 
-    public static void setCursorPosOnServer(Float3 lastTarget) {
-        setCursorPosCommon(lastTarget);
-    }
-
-    private static boolean setCursorPosCommon(Float3 newTarget) {
-        if (lastTarget == newTarget) return false;
-
-        if (lastTarget == null || newTarget == null || !lastTarget.equals(newTarget)) {
-            lastTarget = newTarget;
-
-            return true;
+    public static void setCursorPosOnClient(Float3 newTarget) {
+        if (!Objects.equals(clientCursor, newTarget)) {
+            clientCursor = newTarget;
+            ChangedTargetBlockMessage.INSTANCE.update(newTarget);
         }
-
-        return false;
     }
 
     public void sdfObjectDidChange(SDF old, SDF fresh) {
+        //the SDF was decoded again (someone else wrote the tag), the widget still points to the old graph
+        if (old != fresh && activeTransformWidget != null) {
+            updateActiveTransformWidget();
+            attachWidgetState();
+        }
 //        if (old == fresh) return;
 //
 //        if (old != null) old.removeChangeListener(this::sdfContentDidChange);
@@ -158,13 +172,24 @@ public class ConstructionData {
         return null;
     }
 
+    //The returned object is shared by everyone who reads the same tag. The cached values check on every
+    //read if their tag was replaced, so changes made through other instances or by a sync are picked up.
     public static ConstructionData getConstructionData(CompoundTag tag) {
         if (tag == null) return null;
+        final CompoundTag dataTag = getOrCreateDataTag(tag);
+        ConstructionData data = CACHE.getIfPresent(dataTag);
+        if (data == null) {
+            data = new ConstructionData(dataTag);
+            CACHE.put(dataTag, data);
+        }
+        return data;
+    }
 
+    static CompoundTag getOrCreateDataTag(CompoundTag tag) {
         if (!tag.contains(CONSTRUCTION_DATA_TAG)) {
             tag.put(CONSTRUCTION_DATA_TAG, new CompoundTag());
         }
-        return new ConstructionData(tag.getCompound(CONSTRUCTION_DATA_TAG));
+        return tag.getCompound(CONSTRUCTION_DATA_TAG);
     }
 
     public SDF getRootSDF() {
@@ -247,43 +272,39 @@ public class ConstructionData {
             sdf.setRootTransform(Matrix4.ofTranslation(CENTER.get()));
 
 
-            final Function<Float3, Float>
-                    noise = (cPos) -> (1 + OpenSimplex2.noise3_ImproveXZ(
-                    20688,
-                    cPos.x * 0.15,
-                    cPos.y * 0.2,
-                    cPos.z * 0.15
-            )) / 2;
-            //noise = (p) -> RandomList.random();
-
-            final RandomList<ItemStack>[] materials = new RandomList[RulerContainer.MAX_CATEGORIES];
-            for (int i = 0; i < materials.length; i++)
-                materials[i] = new RandomList<>(RulerContainer.ITEMS_PER_CATEGORY);
-
-            RulerContainer materialContainer = MATERIAL_DATA.get();
-            for (int page = 0; page < RulerContainer.MAX_CATEGORIES; page++) {
-                for (int pageIndex = 0; pageIndex < RulerContainer.ITEMS_PER_CATEGORY; pageIndex++) {
-                    final int slot = materialContainer.getCategorySlotIndex(page, pageIndex)
-                            + RulerContainer.CATEGORIES_SLOT_START;
-                    ItemStack stack = materialContainer.getItem(slot);
-                    if (stack == null || stack.isEmpty()) continue;
-                    if (!(stack.getItem() instanceof BlockItem)) continue;
+            final RulerContainer materialContainer = MATERIAL_DATA.get();
+            if (materialContainer == null) return;
 
+            //the blocks are placed over the next ticks, so large objects do not stall the server
+            final SDFVoxelizer.Result voxels = SDFVoxelizer.voxelize(sdf);
+            final Long2ObjectOpenHashMap<BlockState> blocks = new Long2ObjectOpenHashMap<>(voxels.size());
+            for (int i = 0; i < voxels.size(); i++) {
+                final int mIdx = voxels.getMaterial(i);
+                final WeightedSampler<ItemStack> materials = materialContainer.getMaterialSampler(
+                        mIdx % RulerContainer.MAX_CATEGORIES
+                );
+                if (materials.isEmpty()) continue;
 
-                    materials[page].add(stack, stack.getCount());
-                }
+                ItemStack stack = materials.get(materialNoise(voxels.getPoint(i)));
+                if (stack == null) continue;
+                blocks.put(
+                        voxels.getBlockPos(i),
+                        ((BlockItem) (stack.getItem())).getBlock().defaultBlockState()
+                );
             }
 
-            sdf.evaluate((p, ed) -> {
-                int mIdx = 0;
-                if (ed.source() instanceof MaterialProvider mp) mIdx = mp.getMaterialIndex();
-                ItemStack stack = materials[mIdx % materials.length].getRandomAt(p, noise);
-                player.level.setBlock(
-                        p.toBlockPos(),
-                        ((BlockItem) (stack.getItem())).getBlock().defaultBlockState(),
-                        2
-                );
-            }, null);
+            final RealizationJob job = new RealizationJob(player, blocks);
+            RealizationJobs.INSTANCE.submit(job);
+            ConstructionSession.of(player).setJob(job);
         }
     }
+
+    private static float materialNoise(Float3 pos) {
+        return (float) (1 + OpenSimplex2.noise3_ImproveXZ(
+                20688,
+                pos.x * 0.15,
+                pos.y * 0.2,
+                pos.z * 0.15
+        )) / 2;
+    }
 }
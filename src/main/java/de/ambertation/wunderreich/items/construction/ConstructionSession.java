@@ -0,0 +1,72 @@
+package de.ambertation.wunderreich.items.construction;
+
+import de.ambertation.lib.math.Float3;
+import de.ambertation.lib.math.sdf.SDF;
+import de.ambertation.wunderreich.interfaces.ConstructionSessionStorage;
+
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+
+import org.jetbrains.annotations.Nullable;
+
+//The construction state of one player on the server: the cursor sent by the client, the
+//ConstructionData of the Ruler in use and the realization that is currently running
+public class ConstructionSession {
+    private Float3 cursor;
+    private ConstructionData data;
+    private RealizationJob job;
+    //the SDF of this ConstructionData was changed, but not yet written to the item
+    private ConstructionData deferredWrite;
+
+    public static ConstructionSession of(Player player) {
+        return ((ConstructionSessionStorage) player).getConstructionSession();
+    }
+
+    @Nullable
+    public Float3 getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(@Nullable Float3 cursor) {
+        this.cursor = cursor;
+    }
+
+    //the ConstructionData of the Ruler the player is working with
+    @Nullable
+    public ConstructionData getConstructionData(ItemStack stack) {
+        final ConstructionData fresh = ConstructionData.getConstructionData(stack);
+        if (fresh != null) {
+            if (fresh != deferredWrite) commitSDFWrite();
+            data = fresh;
+        }
+        return fresh;
+    }
+
+    //the SDF of data was changed in place, it is written back with the next commitSDFWrite
+    public void deferSDFWrite(ConstructionData data) {
+        if (deferredWrite != null && deferredWrite != data) commitSDFWrite();
+        deferredWrite = data;
+    }
+
+    public void commitSDFWrite() {
+        if (deferredWrite == null) return;
+        final SDF sdf = deferredWrite.SDF_DATA.get();
+        if (sdf != null) deferredWrite.SDF_DATA.set(sdf.getRoot());
+        deferredWrite = null;
+    }
+
+    @Nullable
+    public ConstructionData getActiveConstructionData() {
+        return data;
+    }
+
+    @Nullable
+    public RealizationJob getJob() {
+        if (job != null && (job.isDone() || job.isCancelled())) job = null;
+        return job;
+    }
+
+    void setJob(RealizationJob job) {
+        this.job = job;
+    }
+}
@@ -0,0 +1,101 @@
+package de.ambertation.wunderreich.items.construction;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.block.Block;
+import net.minecraft.world.level.block.state.BlockState;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.LongArrays;
+
+//Places the blocks of a realized SDF over multiple ticks. The blocks are sorted by chunk and
+//section, so every chunk is touched once, and the neighbour shape updates are done once a
+//section was completely placed.
+public class RealizationJob {
+    public final ServerPlayer player;
+    private final ServerLevel level;
+    private final long[] positions;
+    private final BlockState[] states;
+    private final BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    private int next;
+    private int sectionStart;
+    private boolean cancelled;
+
+    public RealizationJob(ServerPlayer player, Long2ObjectMap<BlockState> blocks) {
+        this.player = player;
+        this.level = player.getLevel();
+        this.positions = blocks.keySet().toLongArray();
+        LongArrays.quickSort(positions, RealizationJob::compareBySection);
+
+        this.states = new BlockState[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            states[i] = blocks.get(positions[i]);
+        }
+    }
+
+    private static int compareBySection(long a, long b) {
+        final int ax = BlockPos.getX(a) >> 4, az = BlockPos.getZ(a) >> 4;
+        final int bx = BlockPos.getX(b) >> 4, bz = BlockPos.getZ(b) >> 4;
+        int res = Long.compare(ChunkPos.asLong(ax, az), ChunkPos.asLong(bx, bz));
+        if (res != 0) return res;
+        res = Integer.compare(BlockPos.getY(a) >> 4, BlockPos.getY(b) >> 4);
+        if (res != 0) return res;
+        return Long.compare(a, b);
+    }
+
+    private static boolean sameSection(long a, long b) {
+        return (BlockPos.getX(a) >> 4) == (BlockPos.getX(b) >> 4)
+                && (BlockPos.getY(a) >> 4) == (BlockPos.getY(b) >> 4)
+                && (BlockPos.getZ(a) >> 4) == (BlockPos.getZ(b) >> 4);
+    }
+
+    //places up to budget blocks and returns the number of handled positions
+    public int tick(int budget) {
+        int count = 0;
+        while (count < budget && next < positions.length) {
+            pos.set(positions[next]);
+            if (level.isInWorldBounds(pos)) {
+                level.setBlock(pos, states[next], Block.UPDATE_CLIENTS | Block.UPDATE_KNOWN_SHAPE);
+            }
+            next++;
+            count++;
+
+            if (next == positions.length || !sameSection(positions[next - 1], positions[next])) {
+                finishSection();
+            }
+        }
+        return count;
+    }
+
+    private void finishSection() {
+        for (int i = sectionStart; i < next; i++) {
+            pos.set(positions[i]);
+            if (level.isInWorldBounds(pos)) {
+                level.getBlockState(pos).updateNeighbourShapes(level, pos, Block.UPDATE_CLIENTS);
+            }
+        }
+        sectionStart = next;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isDone() {
+        return next >= positions.length;
+    }
+
+    public int getPlaced() {
+        return next;
+    }
+
+    public int getTotal() {
+        return positions.length;
+    }
+}
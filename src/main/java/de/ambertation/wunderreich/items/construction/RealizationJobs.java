@@ -0,0 +1,87 @@
+package de.ambertation.wunderreich.items.construction;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+//Runs the pending realization jobs of all players within a fixed budget per server tick
+public class RealizationJobs {
+    public static final RealizationJobs INSTANCE = new RealizationJobs();
+    private static final int BLOCKS_PER_TICK = 4096;
+    private static final int BLOCKS_PER_STEP = 256;
+    private static final long NANOS_PER_TICK = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final int PROGRESS_INTERVAL = 10;
+
+    private final Map<UUID, RealizationJob> jobs = new LinkedHashMap<>();
+    private int tickCount;
+
+    private RealizationJobs() {
+    }
+
+    //a new job replaces the one the player is still running
+    public void submit(RealizationJob job) {
+        final RealizationJob old = jobs.put(job.player.getUUID(), job);
+        if (old != null) old.cancel();
+        if (job.isDone()) jobs.remove(job.player.getUUID());
+    }
+
+    public boolean cancel(ServerPlayer player) {
+        final RealizationJob job = jobs.remove(player.getUUID());
+        if (job == null) return false;
+
+        job.cancel();
+        player.displayClientMessage(Component.translatable(
+                "wunderreich.construction.cancelled",
+                job.getPlaced(),
+                job.getTotal()
+        ), true);
+        return true;
+    }
+
+    //Called at the end of every server tick
+    public void tick() {
+        if (jobs.isEmpty()) return;
+
+        tickCount++;
+        final long deadline = System.nanoTime() + NANOS_PER_TICK;
+        final int perJob = Math.max(BLOCKS_PER_STEP, BLOCKS_PER_TICK / jobs.size());
+
+        final Iterator<RealizationJob> it = jobs.values().iterator();
+        while (it.hasNext()) {
+            final RealizationJob job = it.next();
+            if (job.isCancelled() || job.player.hasDisconnected()) {
+                it.remove();
+                continue;
+            }
+
+            int remaining = perJob;
+            while (remaining > 0 && !job.isDone() && System.nanoTime() < deadline) {
+                remaining -= job.tick(Math.min(remaining, BLOCKS_PER_STEP));
+            }
+
+            if (job.isDone()) {
+                it.remove();
+                job.player.displayClientMessage(Component.translatable(
+                        "wunderreich.construction.done",
+                        job.getTotal()
+                ), true);
+            } else if (tickCount % PROGRESS_INTERVAL == 0) {
+                job.player.displayClientMessage(Component.translatable(
+                        "wunderreich.construction.progress",
+                        job.getPlaced(),
+                        job.getTotal()
+                ), true);
+            }
+        }
+    }
+
+    public void clear() {
+        jobs.values().forEach(RealizationJob::cancel);
+        jobs.clear();
+    }
+}
@@ -47,13 +47,19 @@ public class Ruler extends Item implements FabricItem {
             @NotNull InteractionHand interactionHand
     ) {
         ItemStack ruler = player.getItemInHand(interactionHand);
-        ConstructionData cd = ConstructionData.getConstructionData(ruler);
+        ConstructionData cd = player instanceof ServerPlayer
+                ? ConstructionSession.of(player).getConstructionData(ruler)
+                : ConstructionData.getConstructionData(ruler);
         //if (!level.isClientSide) return InteractionResultHolder.pass(ruler);
         if (cd != null) {
+            //using the Ruler while it is still building stops the build
+            if (player instanceof ServerPlayer sp && ConstructionSession.of(sp).getJob() != null) {
+                RealizationJobs.INSTANCE.cancel(sp);
+                return InteractionResultHolder.success(ruler);
+            }
+
             var widget = cd.getActiveTransformWidget();
-            Float3 cursorPos = ConstructionData.getCursorPos();
-            System.out.println("Cursor: " + cursorPos);
-            System.out.println("ATrans: " + widget);
+            Float3 cursorPos = ConstructionData.getCursorPos(player);
             if (widget != null) {
                 widget.cursorTick(cursorPos);
                 if (widget.hasSelection()) {
@@ -75,7 +81,7 @@ public class Ruler extends Item implements FabricItem {
             }
 
             if (player.isShiftKeyDown()) {
-                cd.CENTER.set(ConstructionData.getCursorPos());
+                if (cursorPos != null) cd.CENTER.set(cursorPos);
 //                if (cd.getActiveSDF() instanceof Rotatable rot) {
 //                    rot.rotate(Math.toRadians(15));
 //                    cd.SDF_DATA.set(rot.getRoot());
@@ -0,0 +1,117 @@
+package de.ambertation.wunderreich.items.construction;
+
+import de.ambertation.lib.math.Bounds;
+import de.ambertation.lib.math.Float3;
+import de.ambertation.lib.math.sdf.SDF;
+import de.ambertation.lib.math.sdf.interfaces.MaterialProvider;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+//Evaluates an SDF on all cores. The bounding box is cut into horizontal slabs, every slab is
+//evaluated on the fork-join pool and the results are merged into one list of unique positions.
+public class SDFVoxelizer {
+    private static final int SLAB_HEIGHT = 4;
+    //smaller objects are evaluated on the calling thread, the overhead is not worth it
+    private static final double MIN_PARALLEL_VOLUME = 16 * 16 * 16;
+
+    public static Result voxelize(SDF sdf, Bounds box) {
+        final double height = box.max.y - box.min.y;
+        final double volume = (box.max.x - box.min.x) * height * (box.max.z - box.min.z);
+        final int slabs = (int) Math.ceil(height / SLAB_HEIGHT);
+
+        if (slabs <= 1 || volume < MIN_PARALLEL_VOLUME) {
+            return evaluate(sdf, box);
+        }
+
+        //slabs start at whole-number offsets from the original minimum, so they sample the same
+        //positions as the full box. Neighbouring slabs share their border, duplicates are removed
+        //when merging.
+        final List<Result> parts = IntStream
+                .range(0, slabs)
+                .parallel()
+                .mapToObj(i -> evaluate(sdf, Bounds.of(
+                        Float3.of(box.min.x, box.min.y + i * SLAB_HEIGHT, box.min.z),
+                        Float3.of(box.max.x, Math.min(box.max.y, box.min.y + (i + 1) * SLAB_HEIGHT), box.max.z)
+                )))
+                .toList();
+
+        return merge(parts);
+    }
+
+    public static Result voxelize(SDF sdf) {
+        return voxelize(sdf, sdf.getBoundingBox());
+    }
+
+    private static Result evaluate(SDF sdf, Bounds box) {
+        final Result res = new Result();
+        sdf.evaluate(box, (p, ed) -> {
+            int mIdx = 0;
+            if (ed.source() instanceof MaterialProvider mp) mIdx = mp.getMaterialIndex();
+            res.add(p, p.toBlockPos().asLong(), mIdx);
+        }, null);
+        return res;
+    }
+
+    private static Result merge(List<Result> parts) {
+        //a single evaluation never visits a position twice
+        if (parts.size() == 1) return parts.get(0);
+
+        int size = 0;
+        for (Result part : parts) size += part.size();
+
+        final Result res = new Result(size);
+        final LongOpenHashSet seen = new LongOpenHashSet(size);
+        for (Result part : parts) {
+            for (int i = 0; i < part.size(); i++) {
+                if (seen.add(part.blockPositions.getLong(i))) {
+                    res.add(part.points.get(i), part.blockPositions.getLong(i), part.materials.getInt(i));
+                }
+            }
+        }
+        return res;
+    }
+
+    public static class Result {
+        private final List<Float3> points;
+        private final LongArrayList blockPositions;
+        private final IntArrayList materials;
+
+        Result() {
+            this(64);
+        }
+
+        Result(int capacity) {
+            points = new ArrayList<>(capacity);
+            blockPositions = new LongArrayList(capacity);
+            materials = new IntArrayList(capacity);
+        }
+
+        void add(Float3 p, long blockPos, int material) {
+            points.add(p);
+            blockPositions.add(blockPos);
+            materials.add(material);
+        }
+
+        public int size() {
+            return points.size();
+        }
+
+        public Float3 getPoint(int i) {
+            return points.get(i);
+        }
+
+        public long getBlockPos(int i) {
+            return blockPositions.getLong(i);
+        }
+
+        public int getMaterial(int i) {
+            return materials.getInt(i);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package de.ambertation.wunderreich.mixin;
 
 import de.ambertation.wunderreich.config.LevelData;
+import de.ambertation.wunderreich.config.LevelDataPersistence;
 import de.ambertation.wunderreich.interfaces.WunderKisteExtensionProvider;
+import de.ambertation.wunderreich.items.construction.ConstructionSession;
+import de.ambertation.wunderreich.items.construction.RealizationJobs;
+import de.ambertation.wunderreich.registries.WunderreichRules;
+import de.ambertation.wunderreich.utils.LibrarianTradeSelector;
 import de.ambertation.wunderreich.utils.WunderKisteDomain;
 import de.ambertation.wunderreich.utils.WunderKisteServerExtension;
 
@@ -11,9 +16,11 @@ import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.Services;
 import net.minecraft.server.WorldStem;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.server.level.progress.ChunkProgressListener;
 import net.minecraft.server.level.progress.ChunkProgressListenerFactory;
 import net.minecraft.server.packs.repository.PackRepository;
+import net.minecraft.server.players.PlayerList;
 import net.minecraft.world.level.Level;
 import net.minecraft.world.level.storage.LevelStorageSource.LevelStorageAccess;
 
@@ -26,6 +33,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import java.net.Proxy;
 import java.util.Map;
+import java.util.function.BooleanSupplier;
 
 @Mixin(MinecraftServer.class)
 public abstract class MinecraftServerMixin implements WunderKisteExtensionProvider {
@@ -35,9 +43,34 @@ public abstract class MinecraftServerMixin implements WunderKisteExtensionProvid
         return wunderkiste;
     }
 
+    @Shadow
+    public abstract PlayerList getPlayerList();
+
     @Inject(method = "stopServer", at = @At("HEAD"))
     public void wunderreich_stop(CallbackInfo ci) {
+        //the players are saved while the server stops, pending Ruler edits have to be on the items first
+        final PlayerList players = getPlayerList();
+        if (players != null) {
+            for (ServerPlayer player : players.getPlayers()) {
+                ConstructionSession.of(player).commitSDFWrite();
+            }
+        }
         wunderkiste.onCloseServer();
+        RealizationJobs.INSTANCE.clear();
+        WunderreichRules.logStats();
+        LibrarianTradeSelector.logStats();
+    }
+
+    @Inject(method = "stopServer", at = @At("TAIL"))
+    public void wunderreich_stopped(CallbackInfo ci) {
+        LevelDataPersistence.INSTANCE.flush();
+    }
+
+    @Inject(method = "tickServer", at = @At("TAIL"))
+    public void wunderreich_tick(BooleanSupplier booleanSupplier, CallbackInfo ci) {
+        wunderkiste.onEndTick();
+        RealizationJobs.INSTANCE.tick();
+        LevelDataPersistence.INSTANCE.tick();
     }
 
     @Inject(method = "<init>", at = @At("TAIL"))
@@ -0,0 +1,20 @@
+package de.ambertation.wunderreich.mixin;
+
+import de.ambertation.wunderreich.items.construction.ConstructionSession;
+
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.server.players.PlayerList;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+@Mixin(PlayerList.class)
+public abstract class PlayerListMixin {
+    //the player is saved after this, so a pending Ruler edit has to be on the item by now
+    @Inject(method = "remove", at = @At("HEAD"))
+    public void wunderreich_remove(ServerPlayer player, CallbackInfo ci) {
+        ConstructionSession.of(player).commitSDFWrite();
+    }
+}
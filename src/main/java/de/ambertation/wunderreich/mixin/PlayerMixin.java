@@ -2,6 +2,8 @@ package de.ambertation.wunderreich.mixin;
 
 import de.ambertation.wunderreich.blockentities.WunderKisteBlockEntity;
 import de.ambertation.wunderreich.interfaces.ActiveChestStorage;
+import de.ambertation.wunderreich.interfaces.ConstructionSessionStorage;
+import de.ambertation.wunderreich.items.construction.ConstructionSession;
 
 import net.minecraft.world.entity.player.Player;
 
@@ -10,9 +12,11 @@ import org.spongepowered.asm.mixin.Mixin;
 import org.jetbrains.annotations.Nullable;
 
 @Mixin(Player.class)
-public abstract class PlayerMixin implements ActiveChestStorage {
+public abstract class PlayerMixin implements ActiveChestStorage, ConstructionSessionStorage {
     @Nullable
     private WunderKisteBlockEntity wunder_activeChest;
+    @Nullable
+    private ConstructionSession wunder_constructionSession;
 
     public boolean isActiveWunderKiste(WunderKisteBlockEntity wunderKisteBlockEntity) {
         return this.wunder_activeChest == wunderKisteBlockEntity;
@@ -25,4 +29,11 @@ public abstract class PlayerMixin implements ActiveChestStorage {
     public void setActiveWunderKiste(WunderKisteBlockEntity wunderKisteBlockEntity) {
         this.wunder_activeChest = wunderKisteBlockEntity;
     }
+
+    public ConstructionSession getConstructionSession() {
+        if (this.wunder_constructionSession == null) {
+            this.wunder_constructionSession = new ConstructionSession();
+        }
+        return this.wunder_constructionSession;
+    }
 }
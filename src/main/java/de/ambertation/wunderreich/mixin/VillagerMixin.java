@@ -1,6 +1,7 @@
 package de.ambertation.wunderreich.mixin;
 
 import de.ambertation.wunderreich.interfaces.AbstractVillagerAccessor;
+import de.ambertation.wunderreich.network.ClosestWhisperer;
 import de.ambertation.wunderreich.network.CycleTradesMessage;
 
 import net.minecraft.world.entity.npc.Villager;
@@ -16,43 +17,35 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 @Mixin(value = Villager.class, priority = 100)
 public class VillagerMixin {
-    protected void wunderreich_updateTradesProxy() {
+    protected void wunderreich_updateTradesProxy(ClosestWhisperer whisperer) {
         Villager self = (Villager) (Object) this;
         AbstractVillagerAccessor acc = (AbstractVillagerAccessor) this;
 
-        boolean found;
-        MerchantOffers merchantOffers;
-        VillagerTrades.ItemListing[] itemListings;
-        int maxCount = 1000;
-        do {
-            //TODO: [MC Update] Check for changes in base Method
-            //-------------------------------------
-            VillagerData villagerData = self.getVillagerData();
-            Int2ObjectMap<VillagerTrades.ItemListing[]> int2ObjectMap = VillagerTrades.TRADES.get(villagerData.getProfession());
-            if (int2ObjectMap == null || int2ObjectMap.isEmpty()) {
-                return;
-            }
-            itemListings = int2ObjectMap.get(villagerData.getLevel());
-            if (itemListings == null) {
-                return;
-            }
-            merchantOffers = self.getOffers();
-            acc.wunderreich_addOffersFromItemListings(merchantOffers, itemListings, 2);
-            //-------------------------------------
+        //TODO: [MC Update] Check for changes in base Method
+        //-------------------------------------
+        VillagerData villagerData = self.getVillagerData();
+        Int2ObjectMap<VillagerTrades.ItemListing[]> int2ObjectMap = VillagerTrades.TRADES.get(villagerData.getProfession());
+        if (int2ObjectMap == null || int2ObjectMap.isEmpty()) {
+            return;
+        }
+        VillagerTrades.ItemListing[] itemListings = int2ObjectMap.get(villagerData.getLevel());
+        if (itemListings == null) {
+            return;
+        }
+        MerchantOffers merchantOffers = self.getOffers();
+        //-------------------------------------
 
-            found = CycleTradesMessage.hasSelectedTrades(self, merchantOffers);
-            if (!found) {
-                self.setOffers(new MerchantOffers());
-                maxCount--;
-            }
-        } while (!found && maxCount > 0);
+        if (!CycleTradesMessage.addSelectedOffers(self, whisperer, merchantOffers, itemListings, 2)) {
+            acc.wunderreich_addOffersFromItemListings(merchantOffers, itemListings, 2);
+        }
     }
 
     @Inject(method = "updateTrades", at = @At(value = "HEAD"), cancellable = true)
     void wunderreich_updateTrades(CallbackInfo ci) {
         Villager self = (Villager) (Object) this;
-        if (CycleTradesMessage.canSelectTrades(self)) {
-            wunderreich_updateTradesProxy();
+        ClosestWhisperer whisperer = CycleTradesMessage.getSelectingWhisperer(self, true);
+        if (whisperer != null) {
+            wunderreich_updateTradesProxy(whisperer);
             ci.cancel();
         }
     }
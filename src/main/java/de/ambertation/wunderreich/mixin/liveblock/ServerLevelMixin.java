@@ -3,7 +3,6 @@ package de.ambertation.wunderreich.mixin.liveblock;
 import de.ambertation.wunderreich.utils.WunderKisteServerExtension;
 
 import net.minecraft.server.level.ServerLevel;
-import net.minecraft.world.level.ChunkPos;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
@@ -21,7 +20,7 @@ public abstract class ServerLevelMixin {
 
     @Inject(method = "shouldTickBlocksAt", at = @At("HEAD"), cancellable = true)
     private void wunderreich_shouldTickBlocksAt(long l, CallbackInfoReturnable<Boolean> cir) {
-        if (WunderKisteServerExtension.WUNDERKISTEN.shouldTick((ServerLevel) (Object) this, new ChunkPos(l))) {
+        if (WunderKisteServerExtension.WUNDERKISTEN.shouldTick((ServerLevel) (Object) this, l)) {
             cir.setReturnValue(true);
             cir.cancel();
         }
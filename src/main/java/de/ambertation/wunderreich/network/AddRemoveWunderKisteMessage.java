@@ -36,6 +36,7 @@ public class AddRemoveWunderKisteMessage extends ServerBoundPacketHandler<AddRem
         boolean wasManaged = WunderKisteBlock.getLiveBlockManager().contains(lb);
         WunderKisteDomain domain = WunderKisteServerExtension.getDomain(state);
         boolean result = WunderKisteBlock.getLiveBlockManager().add(lb);
+        WunderKisteServerExtension.DOMAINS.add(lb);
 
         Wunderreich.LOGGER.info("Adding WunderKiste at " + pos + " (wasManaged: " + wasManaged + ", domain: " + domain + ", didAdd:" + result + ")");
     }
@@ -45,6 +46,7 @@ public class AddRemoveWunderKisteMessage extends ServerBoundPacketHandler<AddRem
 
         boolean wasManaged = WunderKisteBlock.getLiveBlockManager().contains(lb);
         boolean result = WunderKisteBlock.getLiveBlockManager().remove(lb);
+        WunderKisteServerExtension.DOMAINS.remove(lb);
 
         Wunderreich.LOGGER.info("Removing WunderKiste at " + pos + " (wasManaged: " + wasManaged + ", didRemove:" + result + ")");
 
@@ -1,11 +1,14 @@
 package de.ambertation.wunderreich.network;
 
+import de.ambertation.lib.math.Float3;
+import de.ambertation.lib.math.Quaternion;
 import de.ambertation.lib.math.Transform;
 import de.ambertation.lib.math.sdf.SDF;
 import de.ambertation.lib.math.sdf.interfaces.MaterialProvider;
 import de.ambertation.lib.math.sdf.interfaces.Transformable;
 import de.ambertation.wunderreich.gui.construction.RulerContainerMenu;
 import de.ambertation.wunderreich.items.construction.ConstructionData;
+import de.ambertation.wunderreich.items.construction.ConstructionSession;
 import de.ambertation.wunderreich.registries.WunderreichItems;
 
 import net.minecraft.network.FriendlyByteBuf;
@@ -24,6 +27,19 @@ public class ChangedSDFMessage extends ServerBoundPacketHandler<ChangedSDFMessag
             new ChangedSDFMessage()
     );
 
+    //center and size are sent in 1/64 block steps
+    private static final double STEPS_PER_BLOCK = 64;
+    //the components of the rotation are in -1..1, so they need a finer grid
+    private static final double STEPS_PER_ROTATION_UNIT = 1 << 16;
+    //center xyz, size xyz and rotation ijk, real
+    private static final int COMPONENTS = 10;
+
+    //client side state of the transform that is currently edited
+    private Transform pendingTransform;
+    private Transform lastSentTransform;
+    private boolean pendingCommit;
+    private boolean uncommitted;
+
     protected ChangedSDFMessage() {
     }
 
@@ -44,6 +60,112 @@ public class ChangedSDFMessage extends ServerBoundPacketHandler<ChangedSDFMessag
         this.sendToServer(new Content(menu == null ? -1 : menu.containerId, Content.CHANGE_TRANSFORM, -1, -1, t));
     }
 
+    //Remembers the new transform of the active SDF in the held Ruler. Changes are collected and sent
+    //with the next flush, so a drag produces at most one packet per client tick.
+    public void queueTransform(Transform t) {
+        if (t == null) return;
+        pendingTransform = t;
+        uncommitted = true;
+    }
+
+    //tells the server to write the edited SDF back to the item
+    public void commitTransform() {
+        if (uncommitted) pendingCommit = true;
+    }
+
+    //Called at the end of every client tick
+    public void flush() {
+        if (pendingTransform == null && !pendingCommit) return;
+
+        int flags = 0;
+        Transform full = null;
+        int mask = 0;
+        final int[] values = new int[COMPONENTS];
+        if (pendingTransform != null) {
+            if (lastSentTransform == null || !isQuantized(pendingTransform)) {
+                flags |= Content.CHANGE_TRANSFORM;
+                full = pendingTransform;
+            } else {
+                mask = quantizedDelta(lastSentTransform, pendingTransform, values);
+                if (mask != 0) flags |= Content.TRANSFORM_DELTA;
+            }
+            lastSentTransform = pendingTransform;
+            pendingTransform = null;
+        }
+
+        if (pendingCommit) {
+            flags |= Content.COMMIT_TRANSFORM;
+            pendingCommit = false;
+            uncommitted = false;
+            lastSentTransform = null;
+        }
+
+        if (flags != 0) this.sendToServer(new Content(-1, flags, -1, -1, full, mask, values));
+    }
+
+    //rounds center, size and rotation to the steps we can send as a delta
+    public static Transform quantize(Transform t) {
+        final double[] c = components(t);
+        for (int i = 0; i < COMPONENTS; i++) c[i] = toSteps(c[i], i) / steps(i);
+        return fromComponents(c);
+    }
+
+    private static boolean isQuantized(Transform t) {
+        final double[] c = components(t);
+        for (int i = 0; i < COMPONENTS; i++) {
+            if (toSteps(c[i], i) / steps(i) != c[i]) return false;
+        }
+        return true;
+    }
+
+    private static double steps(int component) {
+        return component < 6 ? STEPS_PER_BLOCK : STEPS_PER_ROTATION_UNIT;
+    }
+
+    private static int toSteps(double v, int component) {
+        return (int) Math.round(v * steps(component));
+    }
+
+    private static double[] components(Transform t) {
+        final Quaternion r = t.rotation;
+        return new double[]{
+                t.center.x, t.center.y, t.center.z,
+                t.size.x, t.size.y, t.size.z,
+                r.i, r.j, r.k, r.real
+        };
+    }
+
+    private static Transform fromComponents(double[] c) {
+        return Transform.of(
+                Float3.of(c[0], c[1], c[2]),
+                Float3.of(c[3], c[4], c[5]),
+                Quaternion.of(c[6], c[7], c[8], c[9])
+        );
+    }
+
+    //writes the components of fresh that differ from old, and returns a bit for each of them
+    private static int quantizedDelta(Transform old, Transform fresh, int[] values) {
+        final double[] o = components(old);
+        final double[] f = components(fresh);
+        int mask = 0;
+        for (int i = 0; i < COMPONENTS; i++) {
+            final int q = toSteps(f[i], i);
+            if (q != toSteps(o[i], i)) {
+                mask |= 1 << i;
+                values[i] = q;
+            }
+        }
+        return mask;
+    }
+
+    private static Transform applyDelta(Transform t, int mask, int[] values) {
+        final double[] c = components(t);
+        for (int i = 0; i < COMPONENTS; i++) {
+            if ((mask & (1 << i)) != 0) c[i] = values[i] / steps(i);
+        }
+        return fromComponents(c);
+    }
+
     @Override
     protected void serializeOnClient(FriendlyByteBuf buf, Content content) {
         buf.writeByte(content.containerId);
@@ -57,6 +179,22 @@ public class ChangedSDFMessage extends ServerBoundPacketHandler<ChangedSDFMessag
 
         if ((content.stateFlag & Content.CHANGE_TRANSFORM) == Content.CHANGE_TRANSFORM)
             content.transform.serializeToNetwork(buf);
+
+        if ((content.stateFlag & Content.TRANSFORM_DELTA) == Content.TRANSFORM_DELTA) {
+            buf.writeVarInt(content.deltaMask);
+            for (int i = 0; i < content.deltaValues.length; i++) {
+                if ((content.deltaMask & (1 << i)) != 0) buf.writeVarInt(zigZag(content.deltaValues[i]));
+            }
+        }
+    }
+
+    //small negative numbers would need five bytes as a plain VarInt
+    private static int zigZag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int unZigZag(int v) {
+        return (v >>> 1) ^ -(v & 1);
     }
 
     @Override
@@ -74,6 +212,7 @@ public class ChangedSDFMessage extends ServerBoundPacketHandler<ChangedSDFMessag
             ServerPlayer player,
             Content content
     ) {
+        final ConstructionSession session = ConstructionSession.of(player);
         ConstructionData constructionData = null;
         if (content.containerId == player.containerMenu.containerId) {
             if (player.containerMenu instanceof RulerContainerMenu menu) {
@@ -82,7 +221,7 @@ public class ChangedSDFMessage extends ServerBoundPacketHandler<ChangedSDFMessag
         } else if (content.containerId == -1 || content.containerId == 0xff) {
             ItemStack s = player.getMainHandItem();
             if (s.is(WunderreichItems.RULER)) {
-                constructionData = ConstructionData.getConstructionData(s);
+                constructionData = session.getConstructionData(s);
             }
         }
         if (constructionData == null) return;
@@ -107,15 +246,27 @@ public class ChangedSDFMessage extends ServerBoundPacketHandler<ChangedSDFMessag
             constructionData.realize(server, player);
         }
 
+        //while the player drags, only the SDF object is changed. It is written to the item once the
+        //transform is committed
         if ((content.stateFlag & Content.CHANGE_TRANSFORM) == Content.CHANGE_TRANSFORM) {
             SDF s = constructionData.getActiveSDF();
-            if (s != null) {
-                if (s instanceof Transformable t) {
-                    t.setLocalTransform(content.transform);
-                    constructionData.SDF_DATA.set(s.getRoot());
-                }
+            if (s instanceof Transformable t) {
+                t.setLocalTransform(content.transform);
+                session.deferSDFWrite(constructionData);
             }
         }
+
+        if ((content.stateFlag & Content.TRANSFORM_DELTA) == Content.TRANSFORM_DELTA) {
+            SDF s = constructionData.getActiveSDF();
+            if (s instanceof Transformable t) {
+                t.setLocalTransform(applyDelta(t.getLocalTransform(), content.deltaMask, content.deltaValues));
+                session.deferSDFWrite(constructionData);
+            }
+        }
+
+        if ((content.stateFlag & Content.COMMIT_TRANSFORM) == Content.COMMIT_TRANSFORM) {
+            session.commitSDFWrite();
+        }
     }
 
 
@@ -124,19 +275,39 @@ public class ChangedSDFMessage extends ServerBoundPacketHandler<ChangedSDFMessag
         public static final int CHANGE_MATERIAL = 1 << 1;
         public static final int REALIZE = 1 << 2;
         public static final int CHANGE_TRANSFORM = 1 << 3;
+        public static final int TRANSFORM_DELTA = 1 << 4;
+        public static final int COMMIT_TRANSFORM = 1 << 5;
 
         public final int containerId;
         public final int stateFlag;
         public final int active;
         public final int material;
         public final Transform transform;
+        //bits 0-2 are the center, bits 3-5 the size in 1/STEPS_PER_BLOCK, bits 6-9 the rotation
+        //in 1/STEPS_PER_ROTATION_UNIT
+        public final int deltaMask;
+        public final int[] deltaValues;
 
         private Content(int containerId, int stateFlag, int active, int material, Transform transform) {
+            this(containerId, stateFlag, active, material, transform, 0, new int[COMPONENTS]);
+        }
+
+        private Content(
+                int containerId,
+                int stateFlag,
+                int active,
+                int material,
+                Transform transform,
+                int deltaMask,
+                int[] deltaValues
+        ) {
             this.containerId = containerId;
             this.stateFlag = stateFlag;
             this.active = active;
             this.material = material;
             this.transform = transform;
+            this.deltaMask = deltaMask;
+            this.deltaValues = deltaValues;
         }
 
         private Content(FriendlyByteBuf buf, ServerPlayer player) {
@@ -158,6 +329,16 @@ public class ChangedSDFMessage extends ServerBoundPacketHandler<ChangedSDFMessag
                 this.transform = Transform.deserializeFromNetwork(buf);
             else
                 this.transform = null;
+
+            this.deltaValues = new int[COMPONENTS];
+            if ((stateFlag & Content.TRANSFORM_DELTA) == Content.TRANSFORM_DELTA) {
+                this.deltaMask = buf.readVarInt();
+                for (int i = 0; i < deltaValues.length; i++) {
+                    if ((deltaMask & (1 << i)) != 0) deltaValues[i] = unZigZag(buf.readVarInt());
+                }
+            } else {
+                this.deltaMask = 0;
+            }
         }
 
         @Override
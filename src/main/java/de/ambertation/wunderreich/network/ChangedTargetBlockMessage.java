@@ -1,7 +1,7 @@
 package de.ambertation.wunderreich.network;
 
 import de.ambertation.lib.math.Float3;
-import de.ambertation.wunderreich.items.construction.ConstructionData;
+import de.ambertation.wunderreich.items.construction.ConstructionSession;
 
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.server.MinecraftServer;
@@ -9,17 +9,73 @@ import net.minecraft.server.level.ServerPlayer;
 
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 
+//Sends the cursor of the client to the server. The cursor is quantized to half blocks, changes are
+//collected and sent at most once per client tick, and small moves are sent as a delta to the last
+//position the server received.
 public class ChangedTargetBlockMessage extends ServerBoundPacketHandler<ChangedTargetBlockMessage.Content> {
     public static final ChangedTargetBlockMessage INSTANCE = ServerBoundPacketHandler.register(
             "chg_target_bl",
             new ChangedTargetBlockMessage()
     );
+    private static final double STEPS_PER_BLOCK = 2;
+    //every now and then we send the full position, so a server that missed the start can catch up
+    private static final int ABSOLUTE_INTERVAL = 20;
+
+    //client side state
+    private Float3 pendingTarget;
+    private boolean hasPending;
+    private boolean sentAny;
+    private int lastX, lastY, lastZ;
+    private int sinceAbsolute;
 
     protected ChangedTargetBlockMessage() {
     }
 
-    public void send(Float3 newTarget) {
-        this.sendToServer(new Content(newTarget));
+    //remembers the new cursor, it is sent with the next flush
+    public void update(Float3 newTarget) {
+        pendingTarget = newTarget;
+        hasPending = true;
+    }
+
+    //Called at the end of every client tick
+    public void flush() {
+        if (!hasPending) return;
+        hasPending = false;
+
+        if (pendingTarget == null) {
+            sentAny = false;
+            this.sendToServer(new Content(Content.CLEAR, 0, 0, 0));
+            return;
+        }
+
+        final int x = quantize(pendingTarget.x);
+        final int y = quantize(pendingTarget.y);
+        final int z = quantize(pendingTarget.z);
+        if (sentAny && x == lastX && y == lastY && z == lastZ) return;
+
+        final int dx = x - lastX;
+        final int dy = y - lastY;
+        final int dz = z - lastZ;
+        if (sentAny && sinceAbsolute < ABSOLUTE_INTERVAL && fitsByte(dx) && fitsByte(dy) && fitsByte(dz)) {
+            sinceAbsolute++;
+            this.sendToServer(new Content(Content.DELTA, dx, dy, dz));
+        } else {
+            sinceAbsolute = 0;
+            this.sendToServer(new Content(Content.ABSOLUTE, x, y, z));
+        }
+
+        sentAny = true;
+        lastX = x;
+        lastY = y;
+        lastZ = z;
+    }
+
+    private static int quantize(double v) {
+        return (int) Math.round(v * STEPS_PER_BLOCK);
+    }
+
+    private static boolean fitsByte(int v) {
+        return v >= Byte.MIN_VALUE && v <= Byte.MAX_VALUE;
     }
 
     @Override
@@ -34,23 +90,67 @@ public class ChangedTargetBlockMessage extends ServerBoundPacketHandler<ChangedT
 
     @Override
     protected void processOnGameThread(MinecraftServer server, ServerPlayer player, Content content) {
-        ConstructionData.setCursorPosOnServer(content.newTarget);
+        final ConstructionSession session = ConstructionSession.of(player);
+        final Float3 value = Float3.of(
+                content.x / STEPS_PER_BLOCK,
+                content.y / STEPS_PER_BLOCK,
+                content.z / STEPS_PER_BLOCK
+        );
+
+        if (content.type == Content.CLEAR) {
+            session.setCursor(null);
+        } else if (content.type == Content.ABSOLUTE) {
+            session.setCursor(value);
+        } else if (session.getCursor() != null) {
+            //without a base position we wait for the next absolute position
+            session.setCursor(session.getCursor().add(value));
+        }
     }
 
 
     protected static final class Content {
-        public final Float3 newTarget;
+        public static final byte CLEAR = 0;
+        public static final byte ABSOLUTE = 1;
+        public static final byte DELTA = 2;
+
+        public final byte type;
+        public final int x, y, z;
 
-        protected Content(Float3 newTarget) {
-            this.newTarget = newTarget;
+        protected Content(byte type, int x, int y, int z) {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+            this.z = z;
         }
 
         Content(FriendlyByteBuf buf) {
-            this.newTarget = Float3.deserializeFromNetwork(buf);
+            this.type = buf.readByte();
+            if (type == ABSOLUTE) {
+                this.x = buf.readInt();
+                this.y = buf.readInt();
+                this.z = buf.readInt();
+            } else if (type == DELTA) {
+                this.x = buf.readByte();
+                this.y = buf.readByte();
+                this.z = buf.readByte();
+            } else {
+                this.x = 0;
+                this.y = 0;
+                this.z = 0;
+            }
         }
 
         void serializeToNetwork(FriendlyByteBuf buf) {
-            newTarget.serializeToNetwork(buf);
+            buf.writeByte(type);
+            if (type == ABSOLUTE) {
+                buf.writeInt(x);
+                buf.writeInt(y);
+                buf.writeInt(z);
+            } else if (type == DELTA) {
+                buf.writeByte(x);
+                buf.writeByte(y);
+                buf.writeByte(z);
+            }
         }
     }
 }
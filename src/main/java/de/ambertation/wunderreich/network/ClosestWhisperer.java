@@ -0,0 +1,34 @@
+package de.ambertation.wunderreich.network;
+
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.item.ItemStack;
+
+import java.util.Objects;
+
+public record ClosestWhisperer(ItemStack stack, Player player, EquipmentSlot slot) {
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof ClosestWhisperer)) return false;
+        ClosestWhisperer that = (ClosestWhisperer) o;
+        return Objects.equals(stack, that.stack) && Objects.equals(
+                player,
+                that.player
+        ) && slot == that.slot;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(stack, player, slot);
+    }
+
+    @Override
+    public String toString() {
+        return "ClosestWhisperer{" +
+                "stack=" + stack +
+                ", player=" + player +
+                ", slot=" + slot +
+                '}';
+    }
+}
@@ -4,9 +4,9 @@ import de.ambertation.wunderreich.Wunderreich;
 import de.ambertation.wunderreich.config.Configs;
 import de.ambertation.wunderreich.interfaces.IMerchantMenu;
 import de.ambertation.wunderreich.items.TrainedVillagerWhisperer;
-import de.ambertation.wunderreich.items.VillagerWhisperer;
 import de.ambertation.wunderreich.registries.WunderreichItems;
 import de.ambertation.wunderreich.registries.WunderreichRules;
+import de.ambertation.wunderreich.utils.LibrarianTradeSelector;
 
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.resources.ResourceLocation;
@@ -18,47 +18,19 @@ import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.npc.Villager;
 import net.minecraft.world.entity.npc.VillagerData;
 import net.minecraft.world.entity.npc.VillagerProfession;
+import net.minecraft.world.entity.npc.VillagerTrades;
 import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.inventory.MerchantMenu;
 import net.minecraft.world.item.EnchantedBookItem;
 import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
+import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
 import net.minecraft.world.item.trading.MerchantOffer;
 import net.minecraft.world.item.trading.MerchantOffers;
 
 import net.fabricmc.fabric.api.networking.v1.PacketSender;
 
-import java.util.Objects;
-
-record ClosestWhisperer(ItemStack stack, Player player, EquipmentSlot slot) {
-    @Override
-    public boolean equals(Object o) {
-        if (this == o) return true;
-        if (!(o instanceof ClosestWhisperer)) return false;
-        ClosestWhisperer that = (ClosestWhisperer) o;
-        return Objects.equals(stack, that.stack) && Objects.equals(
-                player,
-                that.player
-        ) && slot == that.slot;
-    }
-
-    @Override
-    public int hashCode() {
-        return Objects.hash(stack, player, slot);
-    }
-
-    @Override
-    public String toString() {
-        return "ClosestWhisperer{" +
-                "stack=" + stack +
-                ", player=" + player +
-                ", slot=" + slot +
-                '}';
-    }
-}
-
 public class CycleTradesMessage extends ServerBoundPacketHandler<CycleTradesMessage.Content> {
     public static final CycleTradesMessage INSTANCE = ServerBoundPacketHandler.register(
             "cycle_trades",
@@ -122,16 +94,20 @@ public class CycleTradesMessage extends ServerBoundPacketHandler<CycleTradesMess
     }
 
     public static boolean canSelectTrades(Villager villager, boolean doLog) {
-        if (!WunderreichRules.Whispers.allowLibrarianSelection()) return false;
-        if (villager == null || villager.getVillagerXp() > 0) return false;
+        return getSelectingWhisperer(villager, doLog) != null;
+    }
+
+    //Returns the Whisperer that selects the trades of the Librarian, or null if it can not select them
+    public static ClosestWhisperer getSelectingWhisperer(Villager villager, boolean doLog) {
+        if (!WunderreichRules.Whispers.allowLibrarianSelection()) return null;
+        if (villager == null || villager.getVillagerXp() > 0) return null;
 
         VillagerData villagerData = villager.getVillagerData();
         VillagerProfession profession = villagerData.getProfession();
-        if (profession == null || !VillagerProfession.LIBRARIAN.equals(profession)) return false;
+        if (profession == null || !VillagerProfession.LIBRARIAN.equals(profession)) return null;
         //if (profession == null || !PoiType.LIBRARIAN.equals(profession.getJobPoiType())) return false;
 
-        ClosestWhisperer whispererStack = getClosestWhisperer(villager, doLog);
-        return whispererStack != null;
+        return getClosestWhisperer(villager, doLog);
     }
 
 //    public final static ResourceLocation CHANNEL = new ResourceLocation(Wunderreich.MOD_ID, "cycle_trades");
@@ -153,44 +129,46 @@ public class CycleTradesMessage extends ServerBoundPacketHandler<CycleTradesMess
 //        ClientPlayNetworking.send(CHANNEL, PacketByteBufs.create());
 //    }
 
-    public static boolean hasSelectedTrades(Villager villager, MerchantOffers offers) {
-        if (offers == null) return true;
-        if (!canSelectTrades(villager, false)) return true;
-        ClosestWhisperer whispererStack = getClosestWhisperer(villager, false);
-        if (whispererStack == null) return true;
-        VillagerWhisperer whisperer = (VillagerWhisperer) whispererStack.stack().getItem();
-
-        for (MerchantOffer offer : offers) {
-            if (offer.getResult().is(Items.ENCHANTED_BOOK)) {
-                var enchantments = EnchantedBookItem.getEnchantments(offer.getResult());
-                if (!enchantments.isEmpty()) {
-                    ResourceLocation type = EnchantmentHelper.getEnchantmentId(enchantments.getCompound(0));
-
-                    final int duraCost = WunderreichRules.Whispers.cyclingNeedsWhisperer() ? 1 : 2;
-                    if (whisperer instanceof TrainedVillagerWhisperer trained) {
-                        if (type.equals(trained.getEnchantmentID(whispererStack.stack()))) {
-                            whispererStack.stack().hurtAndBreak(
-                                    duraCost,
-                                    whispererStack.player(),
-                                    player -> player.broadcastBreakEvent(whispererStack.slot())
-                            );
-                            return true;
-                        }
-                    } else {
-                        whispererStack.stack().hurtAndBreak(
-                                duraCost,
-                                whispererStack.player(),
-                                player -> player.broadcastBreakEvent(whispererStack.slot())
-                        );
-                        return true;
-                    }
-                } else {
-                    return true;
-                }
-            }
+    //Adds the offers for a Librarian, making sure it offers a book the given Whisperer accepts.
+    //Returns false if there is no Whisperer and nothing was added
+    public static boolean addSelectedOffers(
+            Villager villager,
+            ClosestWhisperer whispererStack,
+            MerchantOffers offers,
+            VillagerTrades.ItemListing[] itemListings,
+            int count
+    ) {
+        if (whispererStack == null) return false;
+
+        final MerchantOffer accepted = LibrarianTradeSelector.addOffers(
+                villager,
+                offers,
+                itemListings,
+                count,
+                enchantment -> acceptsEnchantment(whispererStack.stack(), enchantment)
+        );
+        if (accepted != null) chargeWhisperer(whispererStack, accepted);
+        return true;
+    }
+
+    private static boolean acceptsEnchantment(ItemStack whisperer, Enchantment enchantment) {
+        if (whisperer.getItem() instanceof TrainedVillagerWhisperer trained) {
+            ResourceLocation type = EnchantmentHelper.getEnchantmentId(enchantment);
+            return type != null && type.equals(trained.getEnchantmentID(whisperer));
         }
+        return true;
+    }
+
+    private static void chargeWhisperer(ClosestWhisperer whispererStack, MerchantOffer offer) {
+        //books without enchantments were always accepted for free
+        if (EnchantedBookItem.getEnchantments(offer.getResult()).isEmpty()) return;
 
-        return false;
+        final int duraCost = WunderreichRules.Whispers.cyclingNeedsWhisperer() ? 1 : 2;
+        whispererStack.stack().hurtAndBreak(
+                duraCost,
+                whispererStack.player(),
+                player -> player.broadcastBreakEvent(whispererStack.slot())
+        );
     }
 
     //Code adopted from "Easy Villagers"
@@ -11,10 +11,23 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.GameRules.Category;
 import net.minecraft.world.level.storage.ServerLevelData;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import org.jetbrains.annotations.Nullable;
+
 public class WunderreichRules {
     private static final BooleanRule NO_NAMETAGGED_DESPAWN =
             new BooleanRule(Category.SPAWNING, Configs.DEFAULT_RULES.doNotDespawnWithNameTag);
 
+    //the values of all rules of the current server, null when a rule changed since it was built
+    private static volatile Snapshot snapshot;
+    private static final AtomicInteger snapshotRebuilds = new AtomicInteger();
+
+    static {
+        WunderreichGameRules.onChange(() -> snapshot = null);
+    }
+
     public static void onLevelLoad(ServerLevel l, ServerLevelData serverLevelData) {
         Wunderreich.LOGGER.info("Loading ServerLevel: " + l);
         WunderreichGameRules.setCurrentRules(serverLevelData.getGameRules());
@@ -26,7 +39,76 @@ public class WunderreichRules {
     }
 
     public static boolean doNotDespawnWithNameTag() {
-        return NO_NAMETAGGED_DESPAWN.get();
+        return read(Snapshot::doNotDespawnWithNameTag, NO_NAMETAGGED_DESPAWN);
+    }
+
+    //Without a server there is no change notification for the config values, so there is no snapshot
+    //and the accessors read the single value they need from the config
+    @Nullable
+    private static Snapshot current() {
+        if (!WunderreichGameRules.hasCurrentRules()) return null;
+
+        Snapshot s = snapshot;
+        if (s == null) {
+            s = Snapshot.build();
+            snapshot = s;
+            snapshotRebuilds.incrementAndGet();
+        }
+        return s;
+    }
+
+    private static boolean read(Predicate<Snapshot> field, BooleanRule rule) {
+        final Snapshot s = current();
+        return s == null ? rule.get() : field.test(s);
+    }
+
+    private static int read(ToIntFunction<Snapshot> field, IntRule rule) {
+        final Snapshot s = current();
+        return s == null ? rule.get() : field.applyAsInt(s);
+    }
+
+    public static void logStats() {
+        Wunderreich.LOGGER.info("Rebuilt the GameRule snapshot " + snapshotRebuilds.getAndSet(0) + " times");
+    }
+
+    public record Snapshot(
+            boolean doNotDespawnWithNameTag,
+            int whisperDurability,
+            int whisperTrainedDurability,
+            int whisperMinXPMultiplier,
+            int whisperMaxXPMultiplier,
+            boolean librarianSelection,
+            boolean tradesCycling,
+            boolean cycleNeedsWhisperer,
+            boolean wunderkisteRedstonePower,
+            boolean wunderkisteAnalogRedstone,
+            boolean wunderkisteShowColors,
+            boolean wunderkisteAllowDomains,
+            boolean wunderkisteAllowNamedDomains,
+            boolean wunderkisteCanColor,
+            int wunderkisteColorCost,
+            int wunderkisteChunkLoaderDist
+    ) {
+        private static Snapshot build() {
+            return new Snapshot(
+                    NO_NAMETAGGED_DESPAWN.get(),
+                    Whispers.DURABILITY.get(),
+                    Whispers.TRAINED_DURABILITY.get(),
+                    Whispers.MIN_XP_MULT.get(),
+                    Whispers.MAX_XP_MULT.get(),
+                    Whispers.LIBRARIAN_SELECTION.get(),
+                    Whispers.TRADES_CYCLING.get(),
+                    Whispers.CYCLE_NEEDS_WHISPERER.get(),
+                    Wunderkiste.REDSTONE_POWER.get(),
+                    Wunderkiste.ANALOG_REDSTONE.get(),
+                    Wunderkiste.SHOW_COLOR_WUNDERKISTE.get(),
+                    Wunderkiste.ALLOW_WUNDERKISTE_DOMAINS.get(),
+                    Wunderkiste.ALLOW_WUNDERKISTE_NAMED_DOMAINS.get(),
+                    Wunderkiste.CAN_COLOR_WUNDERKISTE.get(),
+                    Wunderkiste.COLOR_COST_WUNDERKISTE.get(),
+                    Wunderkiste.CHUNK_LOADER_DIST_WUNDERKISTE.get()
+            );
+        }
     }
 
     public static class Whispers {
@@ -54,32 +136,32 @@ public class WunderreichRules {
 
 
         public static int durability() {
-            return DURABILITY.get();
+            return read(Snapshot::whisperDurability, DURABILITY);
         }
 
         public static int trainedDurability() {
-            return TRAINED_DURABILITY.get();
+            return read(Snapshot::whisperTrainedDurability, TRAINED_DURABILITY);
         }
 
         public static float minXPMultiplier() {
-            return MIN_XP_MULT.get() / 100.0f;
+            return read(Snapshot::whisperMinXPMultiplier, MIN_XP_MULT) / 100.0f;
         }
 
         public static float maxXPMultiplier() {
-            return MAX_XP_MULT.get() / 100.0f;
+            return read(Snapshot::whisperMaxXPMultiplier, MAX_XP_MULT) / 100.0f;
         }
 
         public static boolean allowLibrarianSelection() {
-            return LIBRARIAN_SELECTION.get() && Configs.ITEM_CONFIG.valueOf(WunderreichItems.BLANK_WHISPERER)
+            return read(Snapshot::librarianSelection, LIBRARIAN_SELECTION) && Configs.ITEM_CONFIG.valueOf(WunderreichItems.BLANK_WHISPERER)
                     && Configs.ITEM_CONFIG.valueOf(WunderreichItems.WHISPERER);
         }
 
         public static boolean allowTradesCycling() {
-            return TRADES_CYCLING.get();
+            return read(Snapshot::tradesCycling, TRADES_CYCLING);
         }
 
         public static boolean cyclingNeedsWhisperer() {
-            return CYCLE_NEEDS_WHISPERER.get() && (Configs.ITEM_CONFIG.valueOf(WunderreichItems.BLANK_WHISPERER) || Configs.ITEM_CONFIG.valueOf(
+            return read(Snapshot::cycleNeedsWhisperer, CYCLE_NEEDS_WHISPERER) && (Configs.ITEM_CONFIG.valueOf(WunderreichItems.BLANK_WHISPERER) || Configs.ITEM_CONFIG.valueOf(
                     WunderreichItems.WHISPERER));
         }
 
@@ -123,35 +205,35 @@ public class WunderreichRules {
                 );
 
         public static boolean redstonePowerWhenOpened() {
-            return REDSTONE_POWER.get();
+            return read(Snapshot::wunderkisteRedstonePower, REDSTONE_POWER);
         }
 
         public static boolean analogRedstoneOutput() {
-            return ANALOG_REDSTONE.get();
+            return read(Snapshot::wunderkisteAnalogRedstone, ANALOG_REDSTONE);
         }
 
         public static boolean showColors() {
-            return SHOW_COLOR_WUNDERKISTE.get();
+            return read(Snapshot::wunderkisteShowColors, SHOW_COLOR_WUNDERKISTE);
         }
 
         public static boolean canColor() {
-            return CAN_COLOR_WUNDERKISTE.get();
+            return read(Snapshot::wunderkisteCanColor, CAN_COLOR_WUNDERKISTE);
         }
 
         public static boolean haveMultiple() {
-            return ALLOW_WUNDERKISTE_DOMAINS.get();
+            return read(Snapshot::wunderkisteAllowDomains, ALLOW_WUNDERKISTE_DOMAINS);
         }
 
         public static boolean namedNetworks() {
-            return haveMultiple() && ALLOW_WUNDERKISTE_NAMED_DOMAINS.get();
+            return haveMultiple() && read(Snapshot::wunderkisteAllowNamedDomains, ALLOW_WUNDERKISTE_NAMED_DOMAINS);
         }
 
         public static int recolorCost() {
-            return COLOR_COST_WUNDERKISTE.get();
+            return read(Snapshot::wunderkisteColorCost, COLOR_COST_WUNDERKISTE);
         }
 
         public static int chunkLoaderDist() {
-            return CHUNK_LOADER_DIST_WUNDERKISTE.get();
+            return read(Snapshot::wunderkisteChunkLoaderDist, CHUNK_LOADER_DIST_WUNDERKISTE);
         }
 
         public static boolean colorsOrDomains() {
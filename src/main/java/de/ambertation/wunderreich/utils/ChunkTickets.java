@@ -0,0 +1,71 @@
+package de.ambertation.wunderreich.utils;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongSet;
+
+import java.util.Arrays;
+
+//Reference counted force loaded chunks of one level, keyed by ChunkPos.toLong()
+public class ChunkTickets {
+    private static final long[] EMPTY = new long[0];
+    private final Long2IntOpenHashMap counts = new Long2IntOpenHashMap();
+
+    //sorted copy of the loaded chunks, lazily rebuilt after the set of chunks changed
+    private volatile long[] snapshot = EMPTY;
+
+    //returns true if this was the first reference, and a ticket needs to be added
+    public boolean inc(long chunkPos) {
+        if (counts.addTo(chunkPos, 1) == 0) {
+            snapshot = null;
+            return true;
+        }
+        return false;
+    }
+
+    //returns true if this was the last reference, and the ticket needs to be removed
+    public boolean dec(long chunkPos) {
+        final int count = counts.get(chunkPos);
+        if (count <= 0) return false;
+        if (count == 1) {
+            counts.remove(chunkPos);
+            snapshot = null;
+            return true;
+        }
+        counts.put(chunkPos, count - 1);
+        return false;
+    }
+
+    public boolean contains(long chunkPos) {
+        long[] chunks = snapshot;
+        if (chunks == null) chunks = rebuildSnapshot();
+        return chunks.length > 0 && Arrays.binarySearch(chunks, chunkPos) >= 0;
+    }
+
+    private long[] rebuildSnapshot() {
+        final long[] chunks = counts.keySet().toLongArray();
+        Arrays.sort(chunks);
+        snapshot = chunks;
+        return chunks;
+    }
+
+    public int count(long chunkPos) {
+        return counts.get(chunkPos);
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    public int size() {
+        return counts.size();
+    }
+
+    public LongSet chunks() {
+        return counts.keySet();
+    }
+
+    public void clear() {
+        counts.clear();
+        snapshot = EMPTY;
+    }
+}
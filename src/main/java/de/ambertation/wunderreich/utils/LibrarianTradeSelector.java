@@ -0,0 +1,192 @@
+package de.ambertation.wunderreich.utils;
+
+import de.ambertation.wunderreich.Wunderreich;
+
+import net.minecraft.core.Registry;
+import net.minecraft.nbt.ListTag;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.util.Mth;
+import net.minecraft.util.RandomSource;
+import net.minecraft.world.entity.npc.AbstractVillager;
+import net.minecraft.world.entity.npc.VillagerTrades;
+import net.minecraft.world.item.EnchantedBookItem;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import net.minecraft.world.item.enchantment.Enchantment;
+import net.minecraft.world.item.enchantment.EnchantmentHelper;
+import net.minecraft.world.item.enchantment.EnchantmentInstance;
+import net.minecraft.world.item.trading.MerchantOffer;
+import net.minecraft.world.item.trading.MerchantOffers;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import org.jetbrains.annotations.Nullable;
+
+//Generates the offers of a librarian so that they contain a book the Whisperer accepts.
+//For the vanilla book listings we pick one of the accepted enchantments and build that offer
+//directly, instead of re-rolling all offers until a matching book shows up.
+public class LibrarianTradeSelector {
+    //only used for listings we do not know, they have to be rolled until they produce a matching book
+    private static final int MAX_DRAWS = 1000;
+
+    //listings are static singletons, so we only need to find out once if they produce books
+    private static final Map<VillagerTrades.ItemListing, Boolean> PRODUCES_BOOKS = Collections.synchronizedMap(new WeakHashMap<>());
+    //probing a listing must not change the trades the villager would roll
+    private static final RandomSource PROBE_RANDOM = RandomSource.create(0);
+
+    //enchantments a librarian can offer, the registry does not change while the game runs
+    private static List<Enchantment> tradeable;
+
+    private static final LongAdder CALLS = new LongAdder();
+    private static final LongAdder DRAWS = new LongAdder();
+    private static final LongAdder NANOS = new LongAdder();
+
+    //Adds up to count offers from the listings (like AbstractVillager.addOffersFromItemListings).
+    //Returns the added book with an accepted enchantment, or null if there is none
+    @Nullable
+    public static MerchantOffer addOffers(
+            AbstractVillager villager,
+            MerchantOffers offers,
+            VillagerTrades.ItemListing[] listings,
+            int count,
+            Predicate<Enchantment> accepts
+    ) {
+        final long start = System.nanoTime();
+        final RandomSource random = villager.getRandom();
+
+        final IntArrayList enchantListings = new IntArrayList(listings.length);
+        final IntArrayList bookListings = new IntArrayList(listings.length);
+        final IntArrayList otherListings = new IntArrayList(listings.length);
+        for (int i = 0; i < listings.length; i++) {
+            if (listings[i] instanceof VillagerTrades.EnchantBookForEmeralds) enchantListings.add(i);
+            else if (producesBooks(listings[i], villager)) bookListings.add(i);
+            else otherListings.add(i);
+        }
+
+        int draws = 0;
+        int bookIndex = -1;
+        MerchantOffer book = null;
+        MerchantOffer accepted = null;
+        if (!enchantListings.isEmpty()) {
+            //every enchantment is equally likely in a vanilla book listing, so drawing from the
+            //accepted ones gives the same result as rolling until one of them shows up
+            final List<Enchantment> candidates = new ArrayList<>();
+            for (Enchantment e : getTradeable()) {
+                if (accepts.test(e)) candidates.add(e);
+            }
+
+            draws++;
+            bookIndex = enchantListings.getInt(random.nextInt(enchantListings.size()));
+            if (candidates.isEmpty()) {
+                book = listings[bookIndex].getOffer(villager, random);
+            } else {
+                final VillagerTrades.EnchantBookForEmeralds listing = (VillagerTrades.EnchantBookForEmeralds) listings[bookIndex];
+                book = bookOffer(candidates.get(random.nextInt(candidates.size())), listing.villagerXp, random);
+                accepted = book;
+            }
+        } else {
+            while (!bookListings.isEmpty() && draws < MAX_DRAWS) {
+                draws++;
+                final int index = bookListings.getInt(random.nextInt(bookListings.size()));
+                final MerchantOffer offer = listings[index].getOffer(villager, random);
+                if (offer == null) continue;
+
+                bookIndex = index;
+                book = offer;
+                if (acceptsOffer(offer, accepts)) {
+                    accepted = offer;
+                    break;
+                }
+            }
+        }
+
+        //pick the remaining listings, every listing is used at most once
+        final boolean[] selected = new boolean[listings.length];
+        int missing = Math.min(count, listings.length);
+        if (bookIndex >= 0) {
+            selected[bookIndex] = true;
+            missing--;
+        }
+
+        final IntArrayList candidates = bookIndex >= 0 ? otherListings : new IntArrayList(listings.length);
+        if (bookIndex < 0) for (int i = 0; i < listings.length; i++) candidates.add(i);
+        while (missing > 0 && !candidates.isEmpty()) {
+            selected[candidates.removeInt(random.nextInt(candidates.size()))] = true;
+            missing--;
+        }
+
+        for (int i = 0; i < listings.length; i++) {
+            if (!selected[i]) continue;
+            final MerchantOffer offer = i == bookIndex ? book : listings[i].getOffer(villager, random);
+            if (offer != null) offers.add(offer);
+        }
+
+        CALLS.increment();
+        DRAWS.add(draws);
+        NANOS.add(System.nanoTime() - start);
+        return accepted;
+    }
+
+    //the offer VillagerTrades.EnchantBookForEmeralds creates once it picked the enchantment
+    private static MerchantOffer bookOffer(Enchantment enchantment, int villagerXp, RandomSource random) {
+        final int level = Mth.nextInt(random, enchantment.getMinLevel(), enchantment.getMaxLevel());
+        final ItemStack result = EnchantedBookItem.createForEnchantment(new EnchantmentInstance(enchantment, level));
+        int cost = 2 + random.nextInt(5 + level * 10) + 3 * level;
+        if (enchantment.isTreasureOnly()) cost *= 2;
+        if (cost > 64) cost = 64;
+
+        return new MerchantOffer(new ItemStack(Items.EMERALD, cost), new ItemStack(Items.BOOK), result, 12, villagerXp, 0.2f);
+    }
+
+    private static List<Enchantment> getTradeable() {
+        if (tradeable == null) {
+            tradeable = Registry.ENCHANTMENT.stream().filter(Enchantment::isTradeable).toList();
+        }
+        return tradeable;
+    }
+
+    //books without enchantments are always accepted
+    private static boolean acceptsOffer(MerchantOffer offer, Predicate<Enchantment> accepts) {
+        if (!offer.getResult().is(Items.ENCHANTED_BOOK)) return false;
+
+        final ListTag enchantments = EnchantedBookItem.getEnchantments(offer.getResult());
+        if (enchantments.isEmpty()) return true;
+
+        final ResourceLocation id = EnchantmentHelper.getEnchantmentId(enchantments.getCompound(0));
+        final Enchantment enchantment = id == null ? null : Registry.ENCHANTMENT.get(id);
+        return enchantment != null && accepts.test(enchantment);
+    }
+
+    private static boolean producesBooks(VillagerTrades.ItemListing listing, AbstractVillager villager) {
+        final Boolean cached = PRODUCES_BOOKS.get(listing);
+        if (cached != null) return cached;
+
+        final MerchantOffer probe;
+        synchronized (PROBE_RANDOM) {
+            probe = listing.getOffer(villager, PROBE_RANDOM);
+        }
+        final boolean result = probe != null && probe.getResult().is(Items.ENCHANTED_BOOK);
+        PRODUCES_BOOKS.put(listing, result);
+        return result;
+    }
+
+    //logs how much work the selection did since the last call
+    public static void logStats() {
+        final long calls = CALLS.sumThenReset();
+        final long draws = DRAWS.sumThenReset();
+        final long nanos = NANOS.sumThenReset();
+        if (calls == 0) return;
+
+        Wunderreich.LOGGER.info("Librarian trades: " + calls + " calls, "
+                + (draws / (double) calls) + " draws/call, "
+                + (TimeUnit.NANOSECONDS.toMicros(nanos) / (double) calls) + "us/call");
+    }
+}
@@ -23,9 +23,7 @@ import com.google.common.collect.Maps;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.stream.Stream;
 
 public class LiveBlockManager<T extends LiveBlockManager.LiveBlock> {
     public static final TicketType<ChunkPos> TICKET = TicketType.create(
@@ -39,9 +37,40 @@ public class LiveBlockManager<T extends LiveBlockManager.LiveBlock> {
     private final List<ChangeEvent> listeners = new LinkedList<>();
     private RegistryAccess registryAccess;
     private boolean isLoaded = false;
-    private Timer saveTimer;
 
-    private static final Map<Level, List<ChunkPosCounter>> FORCE_LOAD_CHUNKS = Maps.newConcurrentMap();
+    private static final Map<Level, ChunkTickets> FORCE_LOAD_CHUNKS = Maps.newConcurrentMap();
+
+    //Adds and removes the region tickets that keep the chunks loaded
+    interface TicketSink {
+        void add(ServerLevel level, ChunkPos cPos);
+        void remove(ServerLevel level, ChunkPos cPos);
+    }
+
+    static final TicketSink DISTANCE_MANAGER = new TicketSink() {
+        @Override
+        public void add(ServerLevel level, ChunkPos cPos) {
+            Wunderreich.LOGGER.info("Keep Chunk " + cPos + " in " + level
+                    .dimension()
+                    .location() + " permanently loaded");
+            level.getChunkSource().chunkMap
+                    .getDistanceManager()
+                    .addRegionTicket(TICKET, cPos, 2, cPos);
+        }
+
+        @Override
+        public void remove(ServerLevel level, ChunkPos cPos) {
+            Wunderreich.LOGGER.info("Remove Chunk " + cPos + " in " + level
+                    .dimension()
+                    .location() + " from force loaded list");
+
+            level.getChunkSource().chunkMap
+                    .getDistanceManager()
+                    .removeRegionTicket(TICKET, cPos, 2, cPos);
+        }
+    };
+
+    //only replaced by the benchmarks, their fake levels have no chunk source
+    static TicketSink ticketSink = DISTANCE_MANAGER;
 
     public LiveBlockManager(String type) {
         this.type = type;
@@ -51,35 +80,14 @@ public class LiveBlockManager<T extends LiveBlockManager.LiveBlock> {
         return (Codec<List<T>>) ((Object) CODEC);
     }
 
-    protected void cancleScheduledSave() {
-        synchronized (this) {
-            if (saveTimer != null) {
-                saveTimer.cancel();
-                saveTimer = null;
-            }
-        }
-    }
-
     public void scheduleSave() {
         if (!isLoaded) {
             Wunderreich.LOGGER.error("Trying to schedule a save an unloaded LiveBlockManager!");
             return;
         }
 
-        synchronized (this) {
-            if (saveTimer != null) return;
-            saveTimer = new java.util.Timer();
-        }
-
-        saveTimer.schedule(new java.util.TimerTask() {
-            @Override
-            public void run() {
-                synchronized (this) {
-                    saveRaw();
-                    cancleScheduledSave();
-                }
-            }
-        }, 10000);
+        //the actual disk write is coalesced and done in the background by LevelDataPersistence
+        saveRaw();
     }
 
     private void saveRaw() {
@@ -92,7 +100,7 @@ public class LiveBlockManager<T extends LiveBlockManager.LiveBlock> {
                             .resultOrPartial(Wunderreich.LOGGER::error)
                             .orElse(new ListTag());
         tag.put(POSITIONS_TAG, result);
-        LevelData.getInstance().saveLevelConfig();
+        LevelData.getInstance().saveLiveBlocks(type);
     }
 
     public void save() {
@@ -100,10 +108,7 @@ public class LiveBlockManager<T extends LiveBlockManager.LiveBlock> {
             Wunderreich.LOGGER.error("Trying to save an unloaded LiveBlockManager!");
             return;
         }
-        synchronized (this) {
-            cancleScheduledSave();
-            saveRaw();
-        }
+        saveRaw();
     }
 
     public void unLoad() {
@@ -188,75 +193,50 @@ public class LiveBlockManager<T extends LiveBlockManager.LiveBlock> {
         if (!listeners.contains(listener)) listeners.add(listener);
     }
 
-    private static Stream<ChunkPos> chunksWithRadius(ChunkPos start, int radius) {
-        Stream.Builder<ChunkPos> p = Stream.builder();
+    public static void addLoadedChunk(LiveBlock live, int radius) {
+        final ChunkTickets chunks = FORCE_LOAD_CHUNKS.computeIfAbsent(live.level, k -> new ChunkTickets());
+
         for (int x = 1 - radius; x < radius; x++) {
             for (int z = 1 - radius; z < radius; z++) {
-                p.add(new ChunkPos(start.x + x, start.z + z));
+                final long cPos = ChunkPos.asLong(live.chunkPos.x + x, live.chunkPos.z + z);
+                if (chunks.inc(cPos)) {
+                    addTicket(live.level, new ChunkPos(cPos));
+                }
             }
         }
-        return p.build();
-    }
-
-    public static void addLoadedChunk(LiveBlock live, int radius) {
-        List<ChunkPosCounter> chunks = FORCE_LOAD_CHUNKS.computeIfAbsent(live.level, k -> new LinkedList<>());
-
-        chunksWithRadius(live.chunkPos, radius).forEach(cPos -> {
-                    Optional<ChunkPosCounter> pos = chunks.stream().filter(c -> c.equals(cPos)).findAny();
-                    if (pos.isEmpty()) {
-                        chunks.add(new ChunkPosCounter(cPos));
-                        addTicket(live.level, cPos);
-                    } else {
-                        pos.get().inc();
-                    }
-                }
-        );
     }
 
 
     private static void addTicket(Level level, ChunkPos cPos) {
-
         if (level instanceof ServerLevel server) {
-            Wunderreich.LOGGER.info("Keep Chunk " + cPos + " in " + level
-                    .dimension()
-                    .location() + " permanently loaded");
-            server.getChunkSource().chunkMap
-                    .getDistanceManager()
-                    .addRegionTicket(TICKET, cPos, 2, cPos);
+            ticketSink.add(server, cPos);
         }
     }
 
     public static void removeLoadedChunk(LiveBlock live, int radius) {
-        List<ChunkPosCounter> chunks = FORCE_LOAD_CHUNKS.computeIfAbsent(live.level, k -> new LinkedList<>());
-
-        chunksWithRadius(live.chunkPos, radius).forEach(cPos -> {
-                    Optional<ChunkPosCounter> pos = chunks.stream().filter(c -> c.equals(cPos)).findAny();
-                    if (pos.isPresent()) {
-                        if (pos.get().dec() == 0) {
-                            chunks.remove(cPos);
-                            removeTicket(live.level, cPos);
-                        }
-                    }
+        final ChunkTickets chunks = FORCE_LOAD_CHUNKS.get(live.level);
+        if (chunks == null) return;
+
+        for (int x = 1 - radius; x < radius; x++) {
+            for (int z = 1 - radius; z < radius; z++) {
+                final long cPos = ChunkPos.asLong(live.chunkPos.x + x, live.chunkPos.z + z);
+                if (chunks.dec(cPos)) {
+                    removeTicket(live.level, new ChunkPos(cPos));
                 }
-        );
+            }
+        }
     }
 
     private static void removeTicket(Level level, ChunkPos cPos) {
         if (level instanceof ServerLevel server) {
-            Wunderreich.LOGGER.info("Remove Chunk " + cPos + " in " + level
-                    .dimension()
-                    .location() + " from force loaded list");
-
-            server.getChunkSource().chunkMap
-                    .getDistanceManager()
-                    .removeRegionTicket(TICKET, cPos, 2, cPos);
+            ticketSink.remove(server, cPos);
         }
     }
 
     public void rebuildLoadedChunks() {
         for (var e : FORCE_LOAD_CHUNKS.entrySet()) {
-            for (var cPos : e.getValue()) {
-                removeTicket(e.getKey(), cPos);
+            for (long cPos : e.getValue().chunks()) {
+                removeTicket(e.getKey(), new ChunkPos(cPos));
             }
         }
 
@@ -268,17 +248,22 @@ public class LiveBlockManager<T extends LiveBlockManager.LiveBlock> {
     }
 
     public boolean shouldTick(ServerLevel level) {
-        return FORCE_LOAD_CHUNKS.containsKey(level);
+        final ChunkTickets chunks = FORCE_LOAD_CHUNKS.get(level);
+        return chunks != null && !chunks.isEmpty();
     }
 
     public boolean shouldTick(ServerLevel level, BlockPos pos) {
-        ChunkPos cPos = new ChunkPos(pos);
-        return shouldTick(level, cPos);
+        return shouldTick(level, ChunkPos.asLong(pos));
     }
 
     public boolean shouldTick(ServerLevel level, ChunkPos cPos) {
-        List<ChunkPosCounter> chunks = FORCE_LOAD_CHUNKS.computeIfAbsent(level, k -> new LinkedList<>());
-        return chunks.contains(cPos);
+        return shouldTick(level, cPos.toLong());
+    }
+
+    public boolean shouldTick(ServerLevel level, long packedChunkPos) {
+        if (FORCE_LOAD_CHUNKS.isEmpty()) return false;
+        final ChunkTickets chunks = FORCE_LOAD_CHUNKS.get(level);
+        return chunks != null && chunks.contains(packedChunkPos);
     }
 
 
@@ -287,28 +272,6 @@ public class LiveBlockManager<T extends LiveBlockManager.LiveBlock> {
         void emit(LiveBlock bl);
     }
 
-    private static class ChunkPosCounter extends ChunkPos {
-        public final AtomicInteger count;
-
-        private ChunkPosCounter(ChunkPos chunkPos) {
-            super(chunkPos.x, chunkPos.z);
-            count = new AtomicInteger(1);
-        }
-
-        public void inc() {
-            count.incrementAndGet();
-        }
-
-        public int dec() {
-            return count.decrementAndGet();
-        }
-
-        @Override
-        public boolean equals(Object object) {
-            return super.equals(object);
-        }
-    }
-
     public static class LiveBlock {
         public static final Codec<LiveBlock> CODEC = RecordCodecBuilder
                 .create(instance -> instance
@@ -9,6 +9,8 @@ import java.util.function.Supplier;
 import org.jetbrains.annotations.NotNull;
 
 public class RandomList<T> implements Iterable<RandomList.Entry<T>> {
+    //number of passes through the list a random value of 0..1 is spread across
+    static final int CYCLES = 3;
     private final ArrayList<Entry<T>> list;
     private float weightSum;
 
@@ -52,7 +54,6 @@ public class RandomList<T> implements Iterable<RandomList.Entry<T>> {
     }
 
     public int getRandomIndexAt(Float3 pos, Function<Float3, Float> rnd) {
-        final int CYCLES = 3;
         final int count = list.size();
         float sum = 0;
         final float r = rnd.apply(pos);
@@ -86,6 +87,11 @@ public class RandomList<T> implements Iterable<RandomList.Entry<T>> {
         return list.isEmpty();
     }
 
+    public void clear() {
+        list.clear();
+        weightSum = 0;
+    }
+
     @Override
     public String toString() {
         return list.toString();
@@ -0,0 +1,70 @@
+package de.ambertation.wunderreich.utils;
+
+import java.util.Arrays;
+
+//An immutable snapshot of a RandomList. The weights are stored as prefix sums, so picking an entry
+//for a random value is a binary search instead of a walk over the list. The same random value
+//selects the same entry as RandomList.getRandomIndexAt.
+public class WeightedSampler<T> {
+    private static final WeightedSampler<?> EMPTY = new WeightedSampler<>(new Object[0], new float[0]);
+    private final Object[] values;
+    //sum of the weights of all entries up to and including i
+    private final float[] prefix;
+    private final float weightSum;
+
+    private WeightedSampler(Object[] values, float[] prefix) {
+        this.values = values;
+        this.prefix = prefix;
+        this.weightSum = prefix.length == 0 ? 0 : prefix[prefix.length - 1];
+    }
+
+    public static <T> WeightedSampler<T> of(RandomList<T> list) {
+        int count = 0;
+        for (RandomList.Entry<T> ignored : list) count++;
+        if (count == 0) return empty();
+
+        final Object[] values = new Object[count];
+        final float[] prefix = new float[count];
+        float sum = 0;
+        int i = 0;
+        for (RandomList.Entry<T> e : list) {
+            sum += e.weight;
+            values[i] = e.value;
+            prefix[i] = sum;
+            i++;
+        }
+        return new WeightedSampler<>(values, prefix);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> WeightedSampler<T> empty() {
+        return (WeightedSampler<T>) EMPTY;
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    //r is expected in [0, 1]. Like RandomList, the range is stretched over RandomList.CYCLES passes
+    //through the list, so noise that rarely reaches the extremes still picks every entry
+    public int indexFor(float r) {
+        if (values.length == 0) return -1;
+        float random = r * weightSum * RandomList.CYCLES;
+        for (int c = 1; c < RandomList.CYCLES && random > weightSum; c++) random -= weightSum;
+
+        final int idx = Arrays.binarySearch(prefix, random);
+        if (idx >= 0) {
+            //on a tie, the first entry that reaches the value wins
+            int first = idx;
+            while (first > 0 && prefix[first - 1] == random) first--;
+            return first;
+        }
+        return Math.min(-idx - 1, values.length - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(float r) {
+        final int idx = indexFor(r);
+        return idx < 0 ? null : (T) values[idx];
+    }
+}
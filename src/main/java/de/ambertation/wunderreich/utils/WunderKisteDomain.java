@@ -2,8 +2,6 @@ package de.ambertation.wunderreich.utils;
 
 import de.ambertation.wunderreich.client.WunderreichClient;
 import de.ambertation.wunderreich.config.Configs;
-import de.ambertation.wunderreich.config.LevelData;
-import de.ambertation.wunderreich.config.LevelDataFile;
 import de.ambertation.wunderreich.items.WunderKisteItem;
 import de.ambertation.wunderreich.registries.WunderreichBlocks;
 
@@ -18,9 +16,9 @@ import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
 import net.fabricmc.loader.api.FabricLoader;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public enum WunderKisteDomain implements StringRepresentable {
     WHITE("white", Items.WHITE_DYE, 0xFFFFFF, false, "wunder_kiste"),
@@ -52,7 +50,7 @@ public enum WunderKisteDomain implements StringRepresentable {
 
     WunderKisteDomain(String name, Item triggerItem, int color, boolean useMonochromeFallback, String texture) {
         this.name = name;
-        this.domainID = new ID(name, false);
+        this.domainID = new ID(name, true);
         this.triggerItem = triggerItem;
         this.color = color;
         this.textColor = TextColor.fromRgb(color);
@@ -99,19 +97,20 @@ public enum WunderKisteDomain implements StringRepresentable {
     }
 
     public static class ID {
+        private static final String NAMED_PREFIX = "_n_";
         public final String id;
-        public final LevelDataFile extraFile;
+        private final boolean builtIn;
 
-        ID(String id, boolean extraFile) {
+        ID(String id, boolean builtIn) {
             this.id = id;
-            if (extraFile) this.extraFile = LevelData.getInstance().fileForName(id);
-            else this.extraFile = null;
+            this.builtIn = builtIn;
         }
 
-        private static final Map<String, ID> ID_MAP = new HashMap<>();
+        //named IDs are created from packet handlers and the server thread
+        private static final Map<String, ID> ID_MAP = new ConcurrentHashMap<>();
 
         public static ID forString(String s) {
-            return ID_MAP.computeIfAbsent(s, key -> new ID("_n_" + key, true));
+            return ID_MAP.computeIfAbsent(s, key -> new ID(NAMED_PREFIX + key, false));
         }
 
         public static ID forDomain(WunderKisteDomain d) {
@@ -122,7 +121,9 @@ public enum WunderKisteDomain implements StringRepresentable {
         public boolean equals(Object o) {
             if (this == o) return true;
             if (o instanceof String s) {
-                return ("_n_" + s).equals(this.id);
+                return id.length() == NAMED_PREFIX.length() + s.length()
+                        && id.startsWith(NAMED_PREFIX)
+                        && id.regionMatches(NAMED_PREFIX.length(), s, 0, s.length());
             } else if (o instanceof WunderKisteDomain d) {
                 return this.equals(d.domainID);
             }
@@ -146,7 +147,7 @@ public enum WunderKisteDomain implements StringRepresentable {
         }
 
         public boolean isBuiltIn() {
-            return extraFile == null;
+            return builtIn;
         }
 
         public static void loadNewLevel() {
@@ -0,0 +1,101 @@
+package de.ambertation.wunderreich.utils;
+
+import de.ambertation.wunderreich.blocks.WunderKisteBlock;
+import de.ambertation.wunderreich.registries.WunderreichRules;
+import de.ambertation.wunderreich.utils.LiveBlockManager.LiveBlock;
+
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.block.state.BlockState;
+
+import java.util.*;
+import org.jetbrains.annotations.Nullable;
+
+//Groups the live Wunderkisten by the ID of the domain they are connected to
+public class WunderKisteDomainIndex {
+    private final LiveBlockManager<LiveBlock> liveBlocks;
+    private final Map<WunderKisteDomain.ID, Set<LiveBlock>> byDomain = new HashMap<>();
+    private final Map<LiveBlock, WunderKisteDomain.ID> domainOf = new HashMap<>();
+    //boxes we could not assign to a domain yet, because their chunk was not loaded
+    private final Set<LiveBlock> unresolved = new HashSet<>();
+    private int rulesStamp = -1;
+
+    public WunderKisteDomainIndex(LiveBlockManager<LiveBlock> liveBlocks) {
+        this.liveBlocks = liveBlocks;
+    }
+
+    public void add(LiveBlock lb) {
+        remove(lb);
+        if (!resolve(lb)) unresolved.add(lb);
+    }
+
+    public void remove(LiveBlock lb) {
+        unresolved.remove(lb);
+        final WunderKisteDomain.ID id = domainOf.remove(lb);
+        if (id != null) {
+            final Set<LiveBlock> boxes = byDomain.get(id);
+            if (boxes != null) {
+                boxes.remove(lb);
+                if (boxes.isEmpty()) byDomain.remove(id);
+            }
+        }
+    }
+
+    //call when the domain of a box might have changed
+    public void update(LiveBlock lb) {
+        if (liveBlocks.contains(lb)) add(lb);
+    }
+
+    public void rebuild() {
+        clear();
+        liveBlocks.forEach(unresolved::add);
+    }
+
+    public void clear() {
+        byDomain.clear();
+        domainOf.clear();
+        unresolved.clear();
+        rulesStamp = -1;
+    }
+
+    public Set<LiveBlock> get(WunderKisteDomain.ID domainID) {
+        validate();
+        return byDomain.getOrDefault(domainID, Collections.emptySet());
+    }
+
+    @Nullable
+    public WunderKisteDomain.ID getDomainID(LiveBlock lb) {
+        validate();
+        return domainOf.get(lb);
+    }
+
+    private void validate() {
+        //the domain of a box depends on the game rules, so we have to start over if they changed
+        final int stamp = currentRulesStamp();
+        if (stamp != rulesStamp) {
+            rebuild();
+            rulesStamp = stamp;
+        }
+
+        if (!unresolved.isEmpty()) unresolved.removeIf(this::resolve);
+    }
+
+    private boolean resolve(LiveBlock lb) {
+        final Level level = lb.getLevel();
+        if (level == null || !level.isLoaded(lb.pos)) return false;
+
+        final BlockState state = level.getBlockState(lb.pos);
+        //stale entry, there is nothing we need to index
+        if (!(state.getBlock() instanceof WunderKisteBlock)) return true;
+
+        final WunderKisteDomain.ID id = WunderKisteServerExtension.getDomainID(state, level.getBlockEntity(lb.pos));
+        domainOf.put(lb, id);
+        byDomain.computeIfAbsent(id, k -> new HashSet<>()).add(lb);
+        return true;
+    }
+
+    private static int currentRulesStamp() {
+        return (WunderreichRules.Wunderkiste.namedNetworks() ? 1 : 0)
+                | (WunderreichRules.Wunderkiste.haveMultiple() ? 2 : 0)
+                | (WunderreichRules.Wunderkiste.colorsOrDomains() ? 4 : 0);
+    }
+}
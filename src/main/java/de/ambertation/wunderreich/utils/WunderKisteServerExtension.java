@@ -6,6 +6,7 @@ import de.ambertation.wunderreich.blocks.WunderKisteBlock;
 import de.ambertation.wunderreich.inventory.WunderKisteContainer;
 import de.ambertation.wunderreich.registries.WunderreichRules;
 
+import net.minecraft.Util;
 import net.minecraft.core.RegistryAccess;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
@@ -13,14 +14,25 @@ import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.state.BlockState;
 
-import com.google.common.collect.Maps;
-
-import java.util.Map;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import org.jetbrains.annotations.Nullable;
 
 public class WunderKisteServerExtension {
-    private final Map<WunderKisteDomain.ID, WunderKisteContainer> containers = Maps.newHashMap();
+    //every domain is loaded once on a background thread, callers only wait for the domain they need
+    private final Map<WunderKisteDomain.ID, CompletableFuture<WunderKisteContainer>> containers =
+            new ConcurrentHashMap<>();
+    //redstone changes are collected during the tick and sent once at the end of the tick
+    //containers report their first fill rate from the thread that loaded them
+    private final Set<WunderKisteDomain.ID> changedFillrates = ConcurrentHashMap.newKeySet();
+    private final Set<WunderKisteDomain.ID> changedOpenStates = new HashSet<>();
+    private final Map<WunderKisteDomain.ID, Integer> lastFillSignal = new HashMap<>();
+    private long emittedUpdates;
+    private long suppressedUpdates;
     public static final LiveBlockManager<LiveBlockManager.LiveBlock> WUNDERKISTEN = new LiveBlockManager<>("wunderkiste");
+    public static final WunderKisteDomainIndex DOMAINS = new WunderKisteDomainIndex(WUNDERKISTEN);
 
     public static WunderKisteDomain getDomain(BlockState state) {
         if (WunderreichRules.Wunderkiste.colorsOrDomains() && state.hasProperty(WunderKisteBlock.DOMAIN))
@@ -28,49 +40,153 @@ public class WunderKisteServerExtension {
         return WunderKisteBlock.DEFAULT_DOMAIN;
     }
 
-    public WunderKisteContainer getContainer(BlockState state, @Nullable BlockEntity entity) {
+    //the ID of the domain whose container is used by the box
+    public static WunderKisteDomain.ID getDomainID(BlockState state, @Nullable BlockEntity entity) {
         if (WunderreichRules.Wunderkiste.namedNetworks() && entity instanceof WunderKisteBlockEntity kiste && kiste.hasCustomName()) {
-            return getContainer(kiste.getDomainName());
+            return getDomainID(kiste.getDomainName());
         }
-        return getContainer(getDomain(state).domainID);
+        return getDomainID(getDomain(state).domainID);
+    }
+
+    public static WunderKisteDomain.ID getDomainID(WunderKisteDomain.ID domainID) {
+        return WunderreichRules.Wunderkiste.haveMultiple()
+                ? domainID
+                : WunderKisteBlock.DEFAULT_DOMAIN.domainID;
+    }
+
+    //Waits until the container is loaded. Only use this when a player opens a box, hoppers and
+    //comparators should use getLoadedContainer
+    @Nullable
+    public WunderKisteContainer getContainer(BlockState state, @Nullable BlockEntity entity) {
+        return getContainer(getDomainID(state, entity));
     }
 
+    @Nullable
     public WunderKisteContainer getContainer(WunderKisteDomain.ID domainID) {
-        return containers.computeIfAbsent(
-                WunderreichRules.Wunderkiste.haveMultiple()
-                        ? domainID
-                        : WunderKisteBlock.DEFAULT_DOMAIN.domainID,
-                d -> this.loadOrCreate(domainID)
-        );
+        try {
+            return requestContainer(domainID).join();
+        } catch (CompletionException e) {
+            //the cause was logged when the load failed, the next request tries again
+            return null;
+        }
+    }
+
+    //starts loading the container of the domain, if it is not loaded or loading yet
+    public CompletableFuture<WunderKisteContainer> requestContainer(WunderKisteDomain.ID domainID) {
+        final WunderKisteDomain.ID id = getDomainID(domainID);
+        CompletableFuture<WunderKisteContainer> future = containers.get(id);
+        if (future != null) return future;
+
+        final CompletableFuture<WunderKisteContainer> created = new CompletableFuture<>();
+        future = containers.putIfAbsent(id, created);
+        if (future != null) return future;
+
+        CompletableFuture
+                .supplyAsync(() -> loadOrCreate(id), Util.backgroundExecutor())
+                .whenComplete((container, error) -> {
+                    if (error != null) {
+                        Wunderreich.LOGGER.error("Unable to load Wunderkiste domain '" + id + "'.", error);
+                        //removed before completing, so everyone who sees the failure can retry
+                        containers.remove(id, created);
+                        created.completeExceptionally(error);
+                    } else {
+                        created.complete(container);
+                        //comparators read 0 while the domain was loading
+                        queueFillrateChange(id);
+                    }
+                });
+        return created;
+    }
+
+    //Starts loading the container, and returns it if it is already loaded. Never blocks.
+    @Nullable
+    public WunderKisteContainer getLoadedContainer(BlockState state, @Nullable BlockEntity entity) {
+        final CompletableFuture<WunderKisteContainer> future = requestContainer(getDomainID(state, entity));
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : null;
+    }
+
+    //the container of the domain, or null if it is not (completely) loaded
+    @Nullable
+    private WunderKisteContainer getLoadedContainer(WunderKisteDomain.ID domainID) {
+        final CompletableFuture<WunderKisteContainer> future = containers.get(domainID);
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) return null;
+        return future.join();
     }
 
     private WunderKisteContainer loadOrCreate(WunderKisteDomain.ID domainID) {
         WunderKisteContainer wunderKisteContainer = new WunderKisteContainer(domainID);
         wunderKisteContainer.load();
-        wunderKisteContainer.addListener((container) -> {
-            WunderKisteBlock.updateAllBoxes(container, false, true);
-        });
+        wunderKisteContainer.addListener((container) -> queueFillrateChange(domainID));
         return wunderKisteContainer;
     }
 
+    public void queueFillrateChange(WunderKisteDomain.ID domainID) {
+        if (WunderreichRules.Wunderkiste.isRedstoneEnabled()) changedFillrates.add(domainID);
+    }
+
+    public void queueOpenStateChange(WunderKisteDomain.ID domainID) {
+        if (WunderreichRules.Wunderkiste.isRedstoneEnabled()) changedOpenStates.add(domainID);
+    }
+
+    //Called at the end of every server tick
+    public void onEndTick() {
+        if (changedFillrates.isEmpty() && changedOpenStates.isEmpty()) return;
+
+        //only domains whose comparator output did change need to notify their boxes
+        final Set<WunderKisteDomain.ID> notify = new HashSet<>(changedOpenStates);
+        for (Iterator<WunderKisteDomain.ID> it = changedFillrates.iterator(); it.hasNext(); ) {
+            final WunderKisteDomain.ID domainID = it.next();
+            it.remove();
+            final WunderKisteContainer container = getLoadedContainer(domainID);
+            final int signal = container != null && WunderreichRules.Wunderkiste.analogRedstoneOutput()
+                    ? container.getAnalogSignal()
+                    : 0;
+            final Integer lastSignal = lastFillSignal.put(domainID, signal);
+            if (lastSignal == null || lastSignal != signal) notify.add(domainID);
+            else suppressedUpdates++;
+        }
+        changedOpenStates.clear();
+
+        for (WunderKisteDomain.ID domainID : notify) {
+            for (LiveBlockManager.LiveBlock liveBlock : DOMAINS.get(domainID)) {
+                //boxes in unloaded chunks will read the current signal once they are loaded
+                if (!liveBlock.getLevel().isLoaded(liveBlock.pos)) continue;
+                WUNDERKISTEN.emitChangeAt(liveBlock);
+                emittedUpdates++;
+            }
+        }
+    }
+
     public void saveAll() {
-        containers.entrySet().forEach(e -> e.getValue().save());
+        for (WunderKisteDomain.ID domainID : containers.keySet()) {
+            final WunderKisteContainer container = getLoadedContainer(domainID);
+            if (container != null) container.save();
+        }
     }
 
     public void onCloseServer() {
         Wunderreich.LOGGER.info("Unloading Cache for Wunderkiste");
+        Wunderreich.LOGGER.info("Wunderkiste comparator updates: " + emittedUpdates + " emitted, " + suppressedUpdates + " suppressed");
 
         //Make sure the levels can unload when the server closes
         WUNDERKISTEN.unLoad();
+        DOMAINS.clear();
     }
 
     public void onStartServer(RegistryAccess registryAccess) {
         //we start a new world, so clear any old block
         Wunderreich.LOGGER.info("Initializing Cache for Wunderkiste");
         containers.clear();
+        changedFillrates.clear();
+        changedOpenStates.clear();
+        lastFillSignal.clear();
+        emittedUpdates = 0;
+        suppressedUpdates = 0;
+        WunderKisteBlock.resetOpenCounts();
 
         //this needs access to the LevelData
         WUNDERKISTEN.load(registryAccess);
+        DOMAINS.rebuild();
     }
 
     public void onLevelsCreated(Map<ResourceKey<Level>, ServerLevel> levels) {
@@ -10,6 +10,8 @@ import net.minecraft.world.level.GameRules.Category;
 import net.fabricmc.fabric.api.gamerule.v1.GameRuleFactory;
 import net.fabricmc.fabric.api.gamerule.v1.GameRuleRegistry;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -17,14 +19,38 @@ import org.jetbrains.annotations.NotNull;
 
 public class WunderreichGameRules {
     private static net.minecraft.world.level.GameRules currentRules;
+    private static final List<Runnable> CHANGE_LISTENERS = new ArrayList<>();
 
     public static void setCurrentRules(net.minecraft.world.level.GameRules rules) {
         if (currentRules != rules) {
             Wunderreich.LOGGER.info("Load new Set of Server Rules");
             currentRules = rules;
+            notifyChanged();
         }
     }
 
+    public static boolean hasCurrentRules() {
+        return currentRules != null;
+    }
+
+    //called whenever one of our rules or the set of rules changes
+    public static void onChange(Runnable listener) {
+        CHANGE_LISTENERS.add(listener);
+    }
+
+    private static void notifyChanged() {
+        for (Runnable listener : CHANGE_LISTENERS) listener.run();
+    }
+
+    private static <T extends net.minecraft.world.level.GameRules.Value<T>> BiConsumer<MinecraftServer, T> notifying(
+            BiConsumer<MinecraftServer, T> callback
+    ) {
+        return (server, value) -> {
+            notifyChanged();
+            if (callback != null) callback.accept(server, value);
+        };
+    }
+
     private static abstract class Base<T extends net.minecraft.world.level.GameRules.Value<T>, V extends ConfigFile.Value<R>, R> {
         public final net.minecraft.world.level.GameRules.Type<T> type;
         public final net.minecraft.world.level.GameRules.Key<T> key;
@@ -68,7 +94,7 @@ public class WunderreichGameRules {
 
     public static class BooleanRule extends Base<net.minecraft.world.level.GameRules.BooleanValue, ConfigFile.BooleanValue, Boolean> {
         public BooleanRule(Category category, ConfigFile.BooleanValue config) {
-            super(category, GameRuleFactory.createBooleanRule(config.get()), config);
+            super(category, GameRuleFactory.createBooleanRule(config.get(), notifying(null)), config);
         }
 
         public BooleanRule(
@@ -76,7 +102,7 @@ public class WunderreichGameRules {
                 Category category,
                 ConfigFile.BooleanValue config
         ) {
-            super(name, category, GameRuleFactory.createBooleanRule(config.get()), config);
+            super(name, category, GameRuleFactory.createBooleanRule(config.get(), notifying(null)), config);
         }
 
 
@@ -97,7 +123,7 @@ public class WunderreichGameRules {
                 int minValue,
                 int maxValue, BiConsumer<MinecraftServer, GameRules.IntegerValue> callback
         ) {
-            super(category, GameRuleFactory.createIntRule(config.get(), minValue, maxValue, callback), config);
+            super(category, GameRuleFactory.createIntRule(config.get(), minValue, maxValue, notifying(callback)), config);
         }
 
         public IntRule(
@@ -106,7 +132,7 @@ public class WunderreichGameRules {
                 int minValue,
                 int maxValue
         ) {
-            super(category, GameRuleFactory.createIntRule(config.get(), minValue, maxValue), config);
+            super(category, GameRuleFactory.createIntRule(config.get(), minValue, maxValue, notifying(null)), config);
         }
 
         public IntRule(
@@ -124,7 +150,7 @@ public class WunderreichGameRules {
                 int minValue,
                 int maxValue
         ) {
-            super(name, category, GameRuleFactory.createIntRule(config.get(), minValue, maxValue), config);
+            super(name, category, GameRuleFactory.createIntRule(config.get(), minValue, maxValue, notifying(null)), config);
         }
 
         @Override
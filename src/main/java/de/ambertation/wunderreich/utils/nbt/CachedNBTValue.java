@@ -9,6 +9,8 @@ import java.util.function.Function;
 public class CachedNBTValue<D, T extends Tag> {
     private final CompoundTag baseTag;
     private D cachedValue;
+    //the tag cachedValue was read from or written to. If someone else replaced the tag, we read it again
+    private Tag cachedTag;
     private final D defaultValue;
     public final String tagName;
     private final Function<T, D> getter;
@@ -66,18 +68,26 @@ public class CachedNBTValue<D, T extends Tag> {
     }
 
     public D get() {
-        if (cachedValue != null) return cachedValue;
+        final Tag tag = baseTag.get(tagName);
+        if (cachedValue != null && tag == cachedTag) return cachedValue;
 
-        if (!baseTag.contains(tagName)) {
+        if (tag == null) {
             return defaultValue;
         } else {
-            cachedValue = getter.apply((T) baseTag.get(tagName));
+            final D oldValue = cachedValue == null ? defaultValue : cachedValue;
+            cachedTag = tag;
+            cachedValue = getter.apply((T) tag);
             if (cachedValue == null) cachedValue = defaultValue;
-            changed.accept(defaultValue, cachedValue);
+            changed.accept(oldValue, cachedValue);
             return cachedValue;
         }
     }
 
+    //the raw tag the value is stored in, null if it was never written
+    public T getTag() {
+        return (T) baseTag.get(tagName);
+    }
+
     public void set(D newValue) {
         D oldValue = cachedValue;
         cachedValue = newValue;
@@ -85,8 +95,10 @@ public class CachedNBTValue<D, T extends Tag> {
             if (baseTag.contains(tagName)) {
                 baseTag.remove(tagName);
             }
+            cachedTag = null;
         } else {
-            baseTag.put(tagName, setter.apply(newValue));
+            cachedTag = setter.apply(newValue);
+            baseTag.put(tagName, cachedTag);
         }
         if (oldValue == null) oldValue = defaultValue;
         if (cachedValue == null) cachedValue = defaultValue;